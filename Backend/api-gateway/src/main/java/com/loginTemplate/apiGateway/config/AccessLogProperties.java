@@ -0,0 +1,26 @@
+package com.loginTemplate.apiGateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Binds gateway.access-log.* used by AccessLogFilter
+ * */
+@Component
+@ConfigurationProperties(prefix = "gateway.access-log")
+@Getter
+@Setter
+public class AccessLogProperties {
+    private boolean enabled = true;
+    // Fraction of successful, fast requests that are logged (0.0 - 1.0)
+    private double sampleRate = 0.01;
+    // Requests slower than this are always logged
+    private long slowThresholdMillis = 500;
+    // Peer addresses whose X-Forwarded-For is believed (load balancers), empty means log the peer address
+    private List<String> trustedProxies = new ArrayList<>();
+}
@@ -0,0 +1,32 @@
+package com.loginTemplate.apiGateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+ * Binds gateway.concurrency-limit.* used by GradientLimiter and AdaptiveConcurrencyGatewayFilterFactory
+ * */
+@Component
+@ConfigurationProperties(prefix = "gateway.concurrency-limit")
+@Getter
+@Setter
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 500;
+    // Latency may grow to rttTolerance x the long-term baseline before the limit is cut
+    private double rttTolerance = 1.5;
+    // Weight of each new estimate, lower -> steadier limit, slower reaction
+    private double smoothing = 0.2;
+    // Samples in the short and the long (baseline) latency average
+    private int shortWindow = 10;
+    private int longWindow = 600;
+    // Limit multiplier on an upstream failure (connect error, timeout, 5xx)
+    private double backoffRatio = 0.9;
+    // Share of the limit available to NORMAL and LOW priority routes, HIGH may use all of it
+    private double normalShare = 0.85;
+    private double lowShare = 0.7;
+}
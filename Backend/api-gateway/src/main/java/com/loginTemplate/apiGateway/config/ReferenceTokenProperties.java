@@ -0,0 +1,26 @@
+package com.loginTemplate.apiGateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+ * Binds gateway.reference-tokens.* used by PhantomTokenFilter and ReferenceTokenResolver
+ * */
+@Component
+@ConfigurationProperties(prefix = "gateway.reference-tokens")
+@Getter
+@Setter
+public class ReferenceTokenProperties {
+    private boolean enabled = false;
+    private String resolveUrl = "http://auth-service:8081/internal/reference-tokens/resolve";
+    private String gatewaySecret;
+    // Cache misses arriving within this window go to auth-service in one call
+    private long batchWindowMillis = 2;
+    private int maxBatchSize = 128;
+    private int maxCachedTokens = 100_000;
+    // Unknown references are remembered this long so retries do not reach auth-service
+    private long negativeTtlSeconds = 5;
+    private long sweepIntervalSeconds = 30;
+}
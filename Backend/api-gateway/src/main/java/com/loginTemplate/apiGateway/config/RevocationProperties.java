@@ -0,0 +1,27 @@
+package com.loginTemplate.apiGateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+ * Binds gateway.revocation.* used by RevocationFeedClient and TokenRevocationFilter
+ * */
+@Component
+@ConfigurationProperties(prefix = "gateway.revocation")
+@Getter
+@Setter
+public class RevocationProperties {
+    private boolean enabled = true;
+    private String feedUrl = "http://auth-service:8081/internal/revocations";
+    // Same value the gateway adds as X-GATEWAY-SECRET on routed requests
+    private String gatewaySecret;
+    private long reconnectBackoffMillis = 2000;
+    // auth-service sends a heartbeat every 15 s, silence longer than this means the connection is dead
+    private long idleTimeoutSeconds = 45;
+    // Bloom filter sizing, it is rebuilt larger when more tokens are revoked
+    private int expectedTokens = 10_000;
+    private double falsePositiveRate = 0.01;
+    private long sweepIntervalSeconds = 30;
+}
@@ -0,0 +1,67 @@
+package com.loginTemplate.apiGateway.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+/*
+ * Optional multiplexed transport to upstreams: HTTP/2 over cleartext (prior knowledge)
+ * on a few long-lived connections instead of one HTTP/1.1 connection per in-flight request.
+ *
+ * Connection and stream gauges are published through Micrometer
+ * (reactor.netty.connection.provider.active.streams, .pending.streams, ...) at /actuator/metrics
+ * on the management port.
+ * */
+@Configuration
+@ConditionalOnProperty(prefix = "gateway.upstream.h2c", name = "enabled", havingValue = "true")
+public class UpstreamH2cConfig {
+
+    @Bean
+    public HttpClientFactory gatewayHttpClientFactory(HttpClientProperties httpClientProperties,
+                                                      ServerProperties serverProperties,
+                                                      List<HttpClientCustomizer> customizers,
+                                                      HttpClientSslConfigurer sslConfigurer,
+                                                      UpstreamH2cProperties h2c) {
+        return new HttpClientFactory(httpClientProperties, serverProperties, sslConfigurer, customizers) {
+            @Override
+            protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+                ConnectionProvider.Builder builder = ConnectionProvider.builder("upstream-h2c")
+                        .maxConnections(h2c.getMaxConnections())
+                        .pendingAcquireMaxCount(h2c.getPendingAcquireMaxCount())
+                        .allocationStrategy(Http2AllocationStrategy.builder()
+                                .minConnections(h2c.getMinConnections())
+                                .maxConnections(h2c.getMaxConnections())
+                                .maxConcurrentStreams(h2c.getMaxConcurrentStreams())
+                                .build())
+                        .metrics(true);
+                HttpClientProperties.Pool pool = properties.getPool();
+                if (pool.getMaxIdleTime() != null) {
+                    builder.maxIdleTime(pool.getMaxIdleTime());
+                }
+                if (pool.getAcquireTimeout() != null) {
+                    builder.pendingAcquireTimeout(Duration.ofMillis(pool.getAcquireTimeout()));
+                }
+                return builder.build();
+            }
+        };
+    }
+
+    @Bean
+    public HttpClientCustomizer h2cHttpClientCustomizer() {
+        return httpClient -> httpClient
+                .protocol(HttpProtocol.H2C)
+                // Raw request paths would explode tag cardinality; per-upstream remote address is enough
+                .metrics(true, uri -> "/");
+    }
+}
@@ -0,0 +1,24 @@
+package com.loginTemplate.apiGateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+ * Binds gateway.upstream.h2c.* used by UpstreamH2cConfig. All upstreams must accept
+ * HTTP/2 prior knowledge on their plain port when this is enabled (auth-service: auth.http2.enabled).
+ * */
+@Component
+@ConfigurationProperties(prefix = "gateway.upstream.h2c")
+@Getter
+@Setter
+public class UpstreamH2cProperties {
+    private boolean enabled = false;
+    // Long-lived connections per upstream, each carrying up to maxConcurrentStreams requests
+    private int minConnections = 1;
+    private int maxConnections = 4;
+    private long maxConcurrentStreams = 256;
+    // Requests waiting for a free stream before new ones fail fast
+    private int pendingAcquireMaxCount = 2048;
+}
@@ -0,0 +1,193 @@
+package com.loginTemplate.apiGateway.filters;
+
+import com.loginTemplate.apiGateway.config.AccessLogProperties;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * One structured (JSON) record per request on the "access-log" logger, which logback-spring.xml
+ * routes through a bounded, never-blocking async appender, so the event loop only pays for
+ * building the line and an enqueue.
+ *
+ * Errors (status >= 400, a failed exchange or a client that went away before the response
+ * completed) and requests slower than slowThresholdMillis are always logged, everything else
+ * is sampled at sampleRate.
+ *
+ * bytesIn and bytesOut are counted as the bodies stream through the gateway, so chunked
+ * bodies without a Content-Length are logged with their real size.
+ * */
+@Component
+@RequiredArgsConstructor
+public class AccessLogFilter implements GlobalFilter, Ordered {
+
+    public static final String UPSTREAM_START_ATTR = AccessLogFilter.class.getName() + ".upstreamStart";
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("access-log");
+
+    private final AccessLogProperties properties;
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled() || !ACCESS_LOG.isInfoEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        long start = System.nanoTime();
+        CountingRequest request = new CountingRequest(exchange.getRequest());
+        CountingResponse response = new CountingResponse(exchange.getResponse());
+        ServerWebExchange counted = exchange.mutate().request(request).response(response).build();
+
+        return chain.filter(counted)
+                .doOnError(e -> log(counted, request, response, start, e, false))
+                .doOnSuccess(done -> log(counted, request, response, start, null, false))
+                .doOnCancel(() -> log(counted, request, response, start, null, true));
+    }
+
+    private void log(ServerWebExchange exchange, CountingRequest request, CountingResponse response, long start,
+                     Throwable error, boolean cancelled) {
+        long end = System.nanoTime();
+        long totalMillis = (end - start) / 1_000_000;
+        HttpStatusCode status = response.getStatusCode();
+        // 499 as in nginx: the client closed the connection before a status was sent
+        int statusCode = status != null ? status.value() : (error != null ? 500 : cancelled ? 499 : 200);
+
+        boolean alwaysLog = error != null || cancelled || statusCode >= 400
+                || totalMillis >= properties.getSlowThresholdMillis();
+        if (!alwaysLog && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            return;
+        }
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        Long upstreamStart = exchange.getAttribute(UPSTREAM_START_ATTR);
+
+        StringBuilder line = new StringBuilder(256)
+                .append("{\"route\":\"").append(route != null ? route.getId() : "-").append('"')
+                .append(",\"method\":\"").append(request.getMethod().name()).append('"')
+                .append(",\"path\":\"").append(escape(request.getPath().value())).append('"')
+                .append(",\"status\":").append(statusCode)
+                .append(",\"totalMs\":").append(totalMillis)
+                .append(",\"upstreamMs\":").append(upstreamStart != null ? (end - upstreamStart) / 1_000_000 : -1)
+                .append(",\"bytesIn\":").append(request.bytesRead)
+                .append(",\"bytesOut\":").append(response.bytesWritten)
+                .append(",\"client\":\"").append(escape(clientAddress(request))).append('"')
+                .append(",\"sampled\":").append(!alwaysLog);
+        if (cancelled) {
+            line.append(",\"cancelled\":true");
+        }
+        if (error != null) {
+            line.append(",\"error\":\"").append(escape(error.getClass().getSimpleName())).append('"');
+        }
+        ACCESS_LOG.info(line.append('}').toString());
+    }
+
+    /*
+     * The peer address, unless the peer is a trusted proxy: then X-Forwarded-For is walked from
+     * the right and the first hop that is not a trusted proxy is the client. Anything left of
+     * that hop was written by the client itself and is ignored.
+     * */
+    String clientAddress(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        String peer = remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : "-";
+        List<String> trusted = properties.getTrustedProxies();
+        if (trusted.isEmpty() || !trusted.contains(peer)) {
+            return peer;
+        }
+
+        String client = peer;
+        List<String> forwarded = request.getHeaders().getValuesAsList("X-Forwarded-For");
+        for (int i = forwarded.size() - 1; i >= 0; i--) {
+            String hop = forwarded.get(i).trim();
+            if (hop.isEmpty()) {
+                continue;
+            }
+            client = hop;
+            if (!trusted.contains(hop)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    private static String escape(String value) {
+        return GatewayErrorResponse.escape(value);
+    }
+
+    /*
+     * Stamps the moment the request is handed to the upstream, just before NettyRoutingFilter
+     * */
+    @Component
+    public static class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+        @Override
+        public int getOrder() {
+            return NettyRoutingFilter.ORDER - 1;
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            exchange.getAttributes().put(UPSTREAM_START_ATTR, System.nanoTime());
+            return chain.filter(exchange);
+        }
+    }
+
+    private static class CountingRequest extends ServerHttpRequestDecorator {
+
+        private long bytesRead = 0;
+
+        CountingRequest(ServerHttpRequest delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return super.getBody().doOnNext(buffer -> bytesRead += buffer.readableByteCount());
+        }
+    }
+
+    private static class CountingResponse extends ServerHttpResponseDecorator {
+
+        private long bytesWritten = 0;
+
+        CountingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(buffer -> bytesWritten += buffer.readableByteCount()));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body)
+                    .map(inner -> Flux.from(inner).doOnNext(buffer -> bytesWritten += buffer.readableByteCount())));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.loginTemplate.apiGateway.filters;
+
+import com.loginTemplate.apiGateway.config.ConcurrencyLimitProperties;
+import com.loginTemplate.apiGateway.limiter.GradientLimiter;
+import com.loginTemplate.apiGateway.limiter.LimiterRegistry;
+import com.loginTemplate.apiGateway.limiter.Priority;
+import io.micrometer.core.instrument.Counter;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Caps in-flight requests to the upstream at an adaptive limit (see GradientLimiter) and
+ * answers 503 right away above it, so overload shows up as fast rejections instead of
+ * requests piling up until they time out.
+ *
+ * Routes naming the same limiter share one limit, priority decides who is shed first.
+ *
+ * Usage in application.yml:
+ *   - name: AdaptiveConcurrency
+ *     args:
+ *       limiter: auth-service
+ *       priority: NORMAL
+ * */
+@Component
+public class AdaptiveConcurrencyGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyGatewayFilterFactory.Config> {
+
+    private final LimiterRegistry limiters;
+    private final ConcurrencyLimitProperties properties;
+
+    public AdaptiveConcurrencyGatewayFilterFactory(LimiterRegistry limiters, ConcurrencyLimitProperties properties) {
+        super(Config.class);
+        this.limiters = limiters;
+        this.properties = properties;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Map<String, Counter> rejectedByRoute = new ConcurrentHashMap<>();
+
+        return (exchange, chain) -> {
+            if (!properties.isEnabled()) {
+                return chain.filter(exchange);
+            }
+
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "-";
+            GradientLimiter limiter = limiters.get(config.getLimiter() != null ? config.getLimiter() : routeId);
+
+            if (!limiter.tryAcquire(config.getPriority())) {
+                rejectedByRoute.computeIfAbsent(routeId,
+                        id -> limiters.rejectedCounter(limiter.getName(), id, config.getPriority())).increment();
+                exchange.getResponse().getHeaders().set("Retry-After", "1");
+                return GatewayErrorResponse.write(exchange.getResponse(),
+                        HttpStatus.SERVICE_UNAVAILABLE, "Service is overloaded, retry shortly");
+            }
+
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                switch (signal) {
+                    case CANCEL -> limiter.release();
+                    case ON_ERROR -> limiter.onFailure();
+                    default -> {
+                        if (status != null && status.is5xxServerError()) {
+                            limiter.onFailure();
+                        } else {
+                            limiter.onSuccess(config.getPriority(), System.nanoTime() - start);
+                        }
+                    }
+                }
+            });
+        };
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        // Shared limiter name, defaults to the route id
+        private String limiter;
+        private Priority priority = Priority.NORMAL;
+    }
+}
@@ -0,0 +1,38 @@
+package com.loginTemplate.apiGateway.filters;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Writes error bodies in the same shape auth-service uses for AuthResponse,
+ * so clients handle gateway rejections exactly like upstream ones
+ * */
+public final class GatewayErrorResponse {
+
+    private GatewayErrorResponse() {
+    }
+
+    public static Mono<Void> write(ServerHttpResponse response, HttpStatus status, String message) {
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        String body = "{\"statusCode\":\"" + status.name() + "\","
+                + "\"responseData\":{},"
+                + "\"responseMessage\":\"" + escape(message) + "\","
+                + "\"responseStatus\":1}";
+
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    // JSON string escaping, control characters included (\n, \u0001, ...)
+    static String escape(String value) {
+        return new String(JsonStringEncoder.getInstance().quoteAsString(value));
+    }
+}
@@ -0,0 +1,135 @@
+package com.loginTemplate.apiGateway.filters;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Incrementally checks that a request body is a flat JSON object carrying the
+ * required fields as non-blank strings. Chunks are fed as they arrive from Netty
+ * and only tokens are inspected, nothing is deserialized into objects or trees.
+ * One instance per request, not thread-safe.
+ * */
+public class JsonShapeValidator {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final List<String> requiredFields;
+    private final int maxDepth;
+    private final JsonParser parser;
+    private final Set<String> presentFields = new HashSet<>();
+
+    private int depth = 0;
+    private boolean rootClosed = false;
+    private String currentField;
+    private String error;
+
+    public JsonShapeValidator(List<String> requiredFields, int maxDepth) {
+        this.requiredFields = requiredFields;
+        this.maxDepth = maxDepth;
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to create non-blocking JSON parser", e);
+        }
+    }
+
+    //Returns false as soon as the body is known to be invalid
+    public boolean feed(byte[] chunk) {
+        if (error != null) {
+            return false;
+        }
+        try {
+            ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(chunk, 0, chunk.length);
+            drain();
+        } catch (IOException e) {
+            error = "Malformed JSON body";
+        }
+        return error == null;
+    }
+
+    //Signals end of body and returns the final verdict
+    public boolean finish() {
+        if (error != null) {
+            return false;
+        }
+        try {
+            ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).endOfInput();
+            drain();
+        } catch (IOException e) {
+            error = "Malformed JSON body";
+            return false;
+        }
+        if (error == null && !rootClosed) {
+            error = "Request body must be a JSON object";
+        }
+        if (error == null) {
+            for (String field : requiredFields) {
+                if (!presentFields.contains(field)) {
+                    error = field + " is required";
+                    break;
+                }
+            }
+        }
+        return error == null;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while (error == null && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            onToken(token);
+        }
+    }
+
+    private void onToken(JsonToken token) throws IOException {
+        if (rootClosed) {
+            error = "Unexpected content after JSON object";
+            return;
+        }
+        if (depth == 0 && token != JsonToken.START_OBJECT) {
+            error = "Request body must be a JSON object";
+            return;
+        }
+
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> {
+                if (depth == 1 && requiredFields.contains(currentField)) {
+                    error = currentField + " must be a string";
+                    return;
+                }
+                if (++depth > maxDepth) {
+                    error = "JSON body is nested too deeply";
+                }
+            }
+            case END_OBJECT, END_ARRAY -> {
+                if (--depth == 0) {
+                    rootClosed = true;
+                }
+            }
+            case FIELD_NAME -> {
+                if (depth == 1) {
+                    currentField = parser.currentName();
+                }
+            }
+            default -> {
+                if (depth == 1 && requiredFields.contains(currentField)) {
+                    if (token != JsonToken.VALUE_STRING) {
+                        error = currentField + " must be a string";
+                    } else if (!parser.getText().isBlank()) {
+                        presentFields.add(currentField);
+                    }
+                }
+            }
+        }
+    }
+}
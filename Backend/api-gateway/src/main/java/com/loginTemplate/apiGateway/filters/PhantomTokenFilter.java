@@ -0,0 +1,103 @@
+package com.loginTemplate.apiGateway.filters;
+
+import com.loginTemplate.apiGateway.config.ReferenceTokenProperties;
+import com.loginTemplate.apiGateway.reference.ReferenceTokenCache;
+import com.loginTemplate.apiGateway.reference.ReferenceTokenResolver;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/*
+ * Phantom token translation: clients send a short opaque "rt_..." reference, upstreams receive
+ * the signed JWT it stands for and keep verifying it locally against the JWKS. The JWT itself
+ * never leaves the backend.
+ *
+ * Runs before TokenRevocationFilter so revocation is checked on the translated JWT.
+ * */
+@Component
+@RequiredArgsConstructor
+public class PhantomTokenFilter implements GlobalFilter, Ordered {
+
+    private static final String REFERENCE_PREFIX = "Bearer rt_";
+
+    private final ReferenceTokenProperties properties;
+    private final ReferenceTokenCache cache;
+    private final ReferenceTokenResolver resolver;
+
+    private Disposable sweeper;
+
+    @PostConstruct
+    void start() {
+        if (properties.isEnabled()) {
+            sweeper = Flux.interval(Duration.ofSeconds(properties.getSweepIntervalSeconds()))
+                    .subscribe(tick -> cache.sweep(Instant.now().getEpochSecond()));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (sweeper != null) {
+            sweeper.dispose();
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(REFERENCE_PREFIX)) {
+            return chain.filter(exchange);
+        }
+
+        String reference = authorization.substring(7);
+        ReferenceTokenCache.Entry cached = cache.get(reference, Instant.now().getEpochSecond());
+        if (cached != null) {
+            return cached.isMiss() ? unauthorized(exchange) : forward(exchange, chain, cached.jwt());
+        }
+
+        // Value: translated, empty: unknown reference, error: auth-service unreachable
+        return resolver.resolve(reference)
+                .materialize()
+                .flatMap(signal -> {
+                    if (signal.isOnNext()) {
+                        return forward(exchange, chain, signal.get());
+                    }
+                    if (signal.isOnError()) {
+                        return GatewayErrorResponse.write(exchange.getResponse(),
+                                HttpStatus.SERVICE_UNAVAILABLE, "Unable to verify access token, retry shortly");
+                    }
+                    return unauthorized(exchange);
+                });
+    }
+
+    private Mono<Void> forward(ServerWebExchange exchange, GatewayFilterChain chain, String jwt) {
+        ServerWebExchange translated = exchange.mutate()
+                .request(request -> request.headers(headers -> headers.setBearerAuth(jwt)))
+                .build();
+        return chain.filter(translated);
+    }
+
+    private Mono<Void> unauthorized(ServerWebExchange exchange) {
+        return GatewayErrorResponse.write(exchange.getResponse(), HttpStatus.UNAUTHORIZED, "Invalid or expired access token");
+    }
+}
@@ -0,0 +1,127 @@
+package com.loginTemplate.apiGateway.filters;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SynchronousSink;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Rejects oversized or malformed JSON bodies at the edge so they never take an
+ * upstream connection or an auth-service thread.
+ *
+ * The body is validated chunk by chunk while it streams in and is held only up to
+ * maxBytes, then replayed unchanged to the upstream.
+ *
+ * Usage in application.yml:
+ *   - name: RequestBodyGuard
+ *     args:
+ *       maxBytes: 1024
+ *       requiredFields: identifier,password
+ * */
+@Component
+public class RequestBodyGuardGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RequestBodyGuardGatewayFilterFactory.Config> {
+
+    public RequestBodyGuardGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            HttpHeaders headers = request.getHeaders();
+
+            MediaType contentType = headers.getContentType();
+            if (contentType == null || !MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+                return GatewayErrorResponse.write(exchange.getResponse(),
+                        HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Content-Type must be application/json");
+            }
+
+            // Cheapest rejection first: declared length over the limit, nothing is read
+            if (headers.getContentLength() > config.getMaxBytes()) {
+                return GatewayErrorResponse.write(exchange.getResponse(),
+                        HttpStatus.PAYLOAD_TOO_LARGE, "Request body exceeds " + config.getMaxBytes() + " bytes");
+            }
+
+            JsonShapeValidator validator = new JsonShapeValidator(config.getRequiredFields(), config.getMaxDepth());
+            BodyState state = new BodyState();
+
+            return request.getBody()
+                    .handle((DataBuffer buffer, SynchronousSink<DataBuffer> sink) -> {
+                        state.size += buffer.readableByteCount();
+                        if (state.size > config.getMaxBytes()) {
+                            DataBufferUtils.release(buffer);
+                            sink.error(new RejectedBodyException(HttpStatus.PAYLOAD_TOO_LARGE,
+                                    "Request body exceeds " + config.getMaxBytes() + " bytes"));
+                            return;
+                        }
+                        byte[] chunk = new byte[buffer.readableByteCount()];
+                        buffer.toByteBuffer().get(chunk);
+                        if (!validator.feed(chunk)) {
+                            DataBufferUtils.release(buffer);
+                            sink.error(new RejectedBodyException(HttpStatus.BAD_REQUEST, validator.getError()));
+                            return;
+                        }
+                        sink.next(buffer);
+                    })
+                    .collectList()
+                    // Buffers already collected are released if the body is rejected mid-stream
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .flatMap(buffers -> {
+                        if (!validator.finish()) {
+                            buffers.forEach(DataBufferUtils::release);
+                            return GatewayErrorResponse.write(exchange.getResponse(),
+                                    HttpStatus.BAD_REQUEST, validator.getError());
+                        }
+                        return chain.filter(exchange.mutate().request(replay(request, buffers)).build());
+                    })
+                    .onErrorResume(RejectedBodyException.class, e ->
+                            GatewayErrorResponse.write(exchange.getResponse(), e.status, e.getMessage()));
+        };
+    }
+
+    private ServerHttpRequest replay(ServerHttpRequest request, List<DataBuffer> buffers) {
+        return new ServerHttpRequestDecorator(request) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.fromIterable(new ArrayList<>(buffers));
+            }
+        };
+    }
+
+    private static class BodyState {
+        private long size = 0;
+    }
+
+    private static class RejectedBodyException extends RuntimeException {
+        private final HttpStatus status;
+
+        RejectedBodyException(HttpStatus status, String message) {
+            super(message, null, false, false);
+            this.status = status;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        private long maxBytes = 4096;
+        private int maxDepth = 4;
+        private List<String> requiredFields = new ArrayList<>();
+    }
+}
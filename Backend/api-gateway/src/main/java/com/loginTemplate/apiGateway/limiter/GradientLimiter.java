@@ -0,0 +1,140 @@
+package com.loginTemplate.apiGateway.limiter;
+
+import com.loginTemplate.apiGateway.config.ConcurrencyLimitProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Adaptive in-flight limit for one upstream, gradient style:
+ *
+ *   gradient = clamp(rttTolerance * longRtt / shortRtt, 0.5, 1.0)
+ *   newLimit = limit * gradient + sqrt(limit)
+ *
+ * longRtt is the slow-moving latency baseline, shortRtt the recent one. While recent latency stays
+ * within tolerance of the baseline the sqrt(limit) headroom lets the limit grow; once the upstream
+ * starts queueing, latency rises and the gradient pulls the limit down. Failures cut it by backoffRatio.
+ *
+ * The in-flight budget is shared, but each priority keeps its own pair of averages: routes sharing
+ * a limiter can differ a lot in latency (login runs BCrypt, refresh does not), and one mixed baseline
+ * would read a shift in traffic mix as queueing. A sample only moves its own priority's averages.
+ *
+ * Admission is lock-free, samples are applied under the instance lock (a few arithmetic ops).
+ * */
+public class GradientLimiter {
+
+    private final String name;
+    private final ConcurrencyLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private double estimatedLimit;
+    private volatile int limit;
+    // Indexed by Priority.ordinal()
+    private final RttBaseline[] baselines = new RttBaseline[Priority.values().length];
+
+    public GradientLimiter(String name, ConcurrencyLimitProperties properties) {
+        this.name = name;
+        this.properties = properties;
+        this.estimatedLimit = properties.getInitialLimit();
+        this.limit = properties.getInitialLimit();
+        for (int i = 0; i < baselines.length; i++) {
+            baselines[i] = new RttBaseline();
+        }
+    }
+
+    /*
+     * Takes a slot if the priority's share of the limit is not used up, never waits
+     * */
+    public boolean tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * share(priority)));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Releases without a sample, for cancelled requests
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void onSuccess(Priority priority, long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        update(baselines[priority.ordinal()], rttNanos, inFlightAtCompletion);
+    }
+
+    public void onFailure() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            estimatedLimit = Math.max(properties.getMinLimit(), estimatedLimit * properties.getBackoffRatio());
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    private synchronized void update(RttBaseline baseline, long rttNanos, int inFlightAtCompletion) {
+        double rtt = rttNanos;
+        if (baseline.samples == 0) {
+            baseline.shortRtt = rtt;
+            baseline.longRtt = rtt;
+        } else {
+            baseline.shortRtt = ema(baseline.shortRtt, rtt, properties.getShortWindow());
+            // Warm-up: plain average until the long window is filled once
+            baseline.longRtt = baseline.samples < properties.getLongWindow()
+                    ? baseline.longRtt + (rtt - baseline.longRtt) / (baseline.samples + 1)
+                    : ema(baseline.longRtt, rtt, properties.getLongWindow());
+        }
+        baseline.samples++;
+
+        // Baseline far above current latency (e.g. after a slow period): let it come down faster
+        if (baseline.longRtt / baseline.shortRtt > 2) {
+            baseline.longRtt *= 0.95;
+        }
+
+        // Upstream is not the bottleneck, no evidence the limit could go higher
+        if (inFlightAtCompletion < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * baseline.longRtt / baseline.shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - properties.getSmoothing()) + newLimit * properties.getSmoothing();
+        estimatedLimit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    private double share(Priority priority) {
+        return switch (priority) {
+            case HIGH -> 1.0;
+            case NORMAL -> properties.getNormalShare();
+            case LOW -> properties.getLowShare();
+        };
+    }
+
+    private static double ema(double current, double sample, int window) {
+        double alpha = 2.0 / (window + 1);
+        return current + alpha * (sample - current);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    // Guarded by the limiter's lock
+    private static final class RttBaseline {
+        private double shortRtt;
+        private double longRtt;
+        private long samples;
+    }
+}
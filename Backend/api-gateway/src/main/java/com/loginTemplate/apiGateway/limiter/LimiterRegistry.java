@@ -0,0 +1,49 @@
+package com.loginTemplate.apiGateway.limiter;
+
+import com.loginTemplate.apiGateway.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/*
+ * One GradientLimiter per name, so routes to the same upstream can share a limit.
+ * Publishes gateway.concurrency.limit / .in-flight gauges and the gateway.concurrency.rejected counter.
+ * */
+@Component
+@RequiredArgsConstructor
+public class LimiterRegistry {
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, GradientLimiter> limiters = new ConcurrentHashMap<>();
+
+    public GradientLimiter get(String name) {
+        return limiters.computeIfAbsent(name, this::create);
+    }
+
+    public Counter rejectedCounter(String name, String routeId, Priority priority) {
+        return Counter.builder("gateway.concurrency.rejected")
+                .description("Requests shed by the adaptive concurrency limit")
+                .tag("limiter", name)
+                .tag("route", routeId)
+                .tag("priority", priority.name())
+                .register(meterRegistry);
+    }
+
+    private GradientLimiter create(String name) {
+        GradientLimiter limiter = new GradientLimiter(name, properties);
+        Gauge.builder("gateway.concurrency.limit", limiter, GradientLimiter::getLimit)
+                .description("Current adaptive in-flight limit")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in-flight", limiter, GradientLimiter::getInFlight)
+                .tag("limiter", name)
+                .register(meterRegistry);
+        return limiter;
+    }
+}
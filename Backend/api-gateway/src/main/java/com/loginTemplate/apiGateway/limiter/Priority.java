@@ -0,0 +1,10 @@
+package com.loginTemplate.apiGateway.limiter;
+
+/*
+ * Order in which routes sharing a limiter are shed: LOW first, HIGH last
+ * */
+public enum Priority {
+    HIGH,
+    NORMAL,
+    LOW
+}
@@ -0,0 +1,51 @@
+package com.loginTemplate.apiGateway.profiling;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/*
+ * Emits a GatewayForwardEvent per upstream call, from just before NettyRoutingFilter until the
+ * response completes. Costs one isEnabled() check while no flight recording is running.
+ * */
+@Component
+public class ForwardEventFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        GatewayForwardEvent event = new GatewayForwardEvent();
+        if (!event.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        event.begin();
+        return chain.filter(exchange).doFinally(signal -> {
+            event.end();
+            if (!event.shouldCommit()) {
+                return;
+            }
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            event.route = route != null ? route.getId() : "-";
+            event.method = exchange.getRequest().getMethod().name();
+            event.status = status != null ? status.value() : 0;
+            event.outcome = switch (signal) {
+                case ON_ERROR -> "failed";
+                case CANCEL -> "cancelled";
+                default -> event.status >= 500 ? "error_status" : "ok";
+            };
+            event.commit();
+        });
+    }
+}
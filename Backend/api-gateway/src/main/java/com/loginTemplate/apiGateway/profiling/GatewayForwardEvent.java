@@ -0,0 +1,31 @@
+package com.loginTemplate.apiGateway.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+ * One request forwarded to an upstream, from hand-off to NettyRoutingFilter until the response
+ * completes. Emitted by ForwardEventFilter while a flight recording is running.
+ * */
+@Name("com.loginTemplate.gateway.Forward")
+@Label("Gateway Forward")
+@Category({"Login Template", "Gateway"})
+@Description("Upstream call made by the gateway")
+class GatewayForwardEvent extends Event {
+
+    @Label("Route")
+    String route;
+
+    @Label("Method")
+    String method;
+
+    @Label("Status")
+    int status;
+
+    @Label("Outcome")
+    @Description("ok, error_status, failed or cancelled")
+    String outcome;
+}
@@ -0,0 +1,80 @@
+package com.loginTemplate.apiGateway.reference;
+
+import com.loginTemplate.apiGateway.config.ReferenceTokenProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Reference -> JWT, each entry kept exactly until the JWT expires. Unknown references are
+ * cached briefly as misses. Revocation is not handled here, TokenRevocationFilter checks
+ * the translated JWT on every request.
+ * */
+@Component
+public class ReferenceTokenCache {
+
+    // jwt == null marks a known miss
+    public record Entry(String jwt, long expiresAt) {
+
+        public boolean isMiss() {
+            return jwt == null;
+        }
+    }
+
+    private final ReferenceTokenProperties properties;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public ReferenceTokenCache(ReferenceTokenProperties properties) {
+        this.properties = properties;
+    }
+
+    // null when nothing (unexpired) is cached for the reference
+    public Entry get(String reference, long nowSeconds) {
+        Entry entry = entries.get(reference);
+        if (entry != null && entry.expiresAt() <= nowSeconds) {
+            entries.remove(reference, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    public void put(String reference, String jwt, long expiresAt, long nowSeconds) {
+        makeRoom(nowSeconds);
+        entries.put(reference, new Entry(jwt, expiresAt));
+    }
+
+    public void putMiss(String reference, long nowSeconds) {
+        makeRoom(nowSeconds);
+        entries.put(reference, new Entry(null, nowSeconds + properties.getNegativeTtlSeconds()));
+    }
+
+    public void sweep(long nowSeconds) {
+        entries.values().removeIf(entry -> entry.expiresAt() <= nowSeconds);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /*
+     * A full cache first drops what has expired. If that is not enough, it drops entries in hash
+     * order (effectively random for random references) down to 15/16 of the bound, so one insert
+     * never empties the cache and the next eviction is a while away. Evicted references simply
+     * go back to auth-service once.
+     * */
+    private void makeRoom(long nowSeconds) {
+        int max = properties.getMaxCachedTokens();
+        if (entries.size() < max) {
+            return;
+        }
+        sweep(nowSeconds);
+        int target = Math.min(max - 1, max - max / 16);
+        Iterator<String> references = entries.keySet().iterator();
+        while (entries.size() > target && references.hasNext()) {
+            references.next();
+            references.remove();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.loginTemplate.apiGateway.reference;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.loginTemplate.apiGateway.config.ReferenceTokenProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Resolves cache misses against auth-service in batches: misses arriving within batchWindowMillis
+ * (or until maxBatchSize) share one POST /internal/reference-tokens/resolve, and concurrent
+ * requests for the same reference share one lookup. Results are written to ReferenceTokenCache.
+ * */
+@Component
+@Slf4j
+public class ReferenceTokenResolver {
+
+    private final ReferenceTokenProperties properties;
+    private final ReferenceTokenCache cache;
+    private final WebClient client;
+
+    // Guarded by this
+    private Map<String, Sinks.One<String>> pending = new HashMap<>();
+
+    public ReferenceTokenResolver(ReferenceTokenProperties properties, ReferenceTokenCache cache,
+                                  WebClient.Builder webClientBuilder) {
+        this.properties = properties;
+        this.cache = cache;
+        this.client = webClientBuilder.build();
+    }
+
+    // Emits the JWT, or completes empty when auth-service does not know the reference
+    public Mono<String> resolve(String reference) {
+        Sinks.One<String> sink;
+        boolean flushNow = false;
+        synchronized (this) {
+            Sinks.One<String> existing = pending.get(reference);
+            if (existing != null) {
+                return existing.asMono();
+            }
+            sink = Sinks.one();
+            pending.put(reference, sink);
+            if (pending.size() == 1) {
+                Schedulers.parallel().schedule(this::flush, properties.getBatchWindowMillis(), TimeUnit.MILLISECONDS);
+            } else if (pending.size() >= properties.getMaxBatchSize()) {
+                flushNow = true;
+            }
+        }
+        if (flushNow) {
+            flush();
+        }
+        return sink.asMono();
+    }
+
+    private void flush() {
+        Map<String, Sinks.One<String>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+
+        client.post()
+                .uri(properties.getResolveUrl())
+                .header("X-GATEWAY-SECRET", properties.getGatewaySecret())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("tokens", List.copyOf(batch.keySet())))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .subscribe(body -> complete(batch, body.path("responseData").path("tokens")),
+                        error -> {
+                            log.warn("Reference token resolve failed for {} tokens: {}", batch.size(), error.getMessage());
+                            batch.values().forEach(sink -> sink.tryEmitError(error));
+                        });
+    }
+
+    private void complete(Map<String, Sinks.One<String>> batch, JsonNode tokens) {
+        long now = Instant.now().getEpochSecond();
+        batch.forEach((reference, sink) -> {
+            JsonNode resolved = tokens.get(reference);
+            if (resolved == null || !resolved.hasNonNull("jwt")) {
+                cache.putMiss(reference, now);
+                sink.tryEmitEmpty();
+                return;
+            }
+            String jwt = resolved.get("jwt").asText();
+            cache.put(reference, jwt, resolved.path("expiresAt").asLong(now), now);
+            sink.tryEmitValue(jwt);
+        });
+    }
+}
@@ -0,0 +1,88 @@
+package com.loginTemplate.apiGateway.revocation;
+
+import com.loginTemplate.apiGateway.config.RevocationProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/*
+ * Keeps RevocationSet in sync with auth-service over its server-sent event feed.
+ * Reconnects with the last cursor, so only the changes made in between are sent again.
+ *
+ * While disconnected the last known state keeps being enforced (fail open for new revocations).
+ * */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RevocationFeedClient {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> EVENT =
+            new ParameterizedTypeReference<>() {};
+
+    private final RevocationProperties properties;
+    private final RevocationSet revocationSet;
+    private final WebClient.Builder webClientBuilder;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        WebClient client = webClientBuilder.build();
+
+        subscriptions.add(Flux.defer(() -> follow(client))
+                .onErrorResume(e -> {
+                    log.warn("Revocation feed disconnected, reconnecting: {}", e.getMessage());
+                    return Flux.empty();
+                })
+                .repeatWhen(completed -> completed.delayElements(Duration.ofMillis(properties.getReconnectBackoffMillis())))
+                .subscribe());
+
+        subscriptions.add(Flux.interval(Duration.ofSeconds(properties.getSweepIntervalSeconds()))
+                .subscribe(tick -> revocationSet.sweep(Instant.now().getEpochSecond())));
+    }
+
+    @PreDestroy
+    void stop() {
+        subscriptions.dispose();
+    }
+
+    private Flux<ServerSentEvent<String>> follow(WebClient client) {
+        return client.get()
+                .uri(UriComponentsBuilder.fromUriString(properties.getFeedUrl())
+                        .queryParamIfPresent("since", Optional.ofNullable(revocationSet.getCursor()))
+                        .build().toUri())
+                .header("X-GATEWAY-SECRET", properties.getGatewaySecret())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .retrieve()
+                .bodyToFlux(EVENT)
+                .timeout(Duration.ofSeconds(properties.getIdleTimeoutSeconds()))
+                .doOnNext(this::apply);
+    }
+
+    private void apply(ServerSentEvent<String> event) {
+        if (event.data() == null || event.event() == null) {
+            return; // heartbeat
+        }
+        switch (event.event()) {
+            case "snapshot" -> revocationSet.applySnapshot(event.data());
+            case "delta" -> revocationSet.applyDelta(event.data());
+            default -> log.debug("Ignoring revocation feed event {}", event.event());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.loginTemplate.apiGateway.revocation;
+
+import com.loginTemplate.apiGateway.config.RevocationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * The gateway's copy of auth-service's revocations: a Bloom filter in front of the exact jti set,
+ * plus per-user "not before" cut-offs. Lookups are lock-free and allocation-free, the common case
+ * (token not revoked) is answered by the Bloom filter alone.
+ *
+ * Updates arrive through RevocationFeedClient in auth-service's line format:
+ *   J <jti> <expiresAt>
+ *   U <userId> <notBefore> <expiresAt>
+ * Entries drop out by themselves at expiresAt, sweep() reclaims their memory.
+ * */
+@Component
+@Slf4j
+public class RevocationSet {
+
+    private record UserCutoff(long notBefore, long expiresAt) {}
+
+    private final RevocationProperties properties;
+    private final Map<String, Long> tokens = new ConcurrentHashMap<>();
+    private final Map<String, UserCutoff> users = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloom;
+    private int bloomCapacity;
+    private volatile String cursor;
+
+    public RevocationSet(RevocationProperties properties) {
+        this.properties = properties;
+        this.bloom = buildBloom();
+    }
+
+    public boolean isRevoked(String jti, String userId, long issuedAt, long nowSeconds) {
+        if (jti != null && bloom.mightContain(jti)) {
+            Long expiresAt = tokens.get(jti);
+            if (expiresAt != null && expiresAt > nowSeconds) {
+                return true;
+            }
+        }
+        if (userId != null && !users.isEmpty()) {
+            UserCutoff cutoff = users.get(userId);
+            // Inclusive like auth-service: iat has whole seconds, the same second may predate the cut-off
+            return cutoff != null && cutoff.expiresAt() > nowSeconds && issuedAt <= cutoff.notBefore();
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return tokens.isEmpty() && users.isEmpty();
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public int size() {
+        return tokens.size() + users.size();
+    }
+
+    // Replaces everything: first message after (re)connecting, or after auth-service lost track
+    public synchronized void applySnapshot(String data) {
+        Map<String, Long> snapshotTokens = new ConcurrentHashMap<>();
+        Map<String, UserCutoff> snapshotUsers = new ConcurrentHashMap<>();
+        String[] lines = data.split("\n");
+        for (int i = 1; i < lines.length; i++) {
+            put(lines[i], snapshotTokens, snapshotUsers);
+        }
+        // Add before removing, so nothing that stays revoked is ever missing from the maps
+        tokens.putAll(snapshotTokens);
+        users.putAll(snapshotUsers);
+        tokens.keySet().retainAll(snapshotTokens.keySet());
+        users.keySet().retainAll(snapshotUsers.keySet());
+        bloom = buildBloom();
+        cursor = lines[0];
+        log.info("Revocation snapshot applied: {} tokens, {} users", tokens.size(), users.size());
+    }
+
+    public synchronized void applyDelta(String data) {
+        String[] lines = data.split("\n");
+        for (int i = 1; i < lines.length; i++) {
+            String jti = put(lines[i], tokens, users);
+            if (jti != null) {
+                bloom.add(jti);
+            }
+        }
+        if (tokens.size() > bloomCapacity) {
+            bloom = buildBloom();
+        }
+        cursor = lines[0];
+    }
+
+    // Drops expired entries and rebuilds the Bloom filter without them
+    public synchronized void sweep(long nowSeconds) {
+        int before = size();
+        tokens.values().removeIf(expiresAt -> expiresAt <= nowSeconds);
+        users.values().removeIf(cutoff -> cutoff.expiresAt() <= nowSeconds);
+        if (size() != before) {
+            bloom = buildBloom();
+        }
+    }
+
+    // Returns the jti when the line was a token entry
+    private String put(String line, Map<String, Long> tokenTarget, Map<String, UserCutoff> userTarget) {
+        String[] fields = line.split(" ");
+        try {
+            if (fields.length == 3 && fields[0].equals("J")) {
+                tokenTarget.merge(fields[1], Long.parseLong(fields[2]), Math::max);
+                return fields[1];
+            }
+            if (fields.length == 4 && fields[0].equals("U")) {
+                UserCutoff cutoff = new UserCutoff(Long.parseLong(fields[2]), Long.parseLong(fields[3]));
+                userTarget.merge(fields[1], cutoff, (a, b) ->
+                        new UserCutoff(Math.max(a.notBefore(), b.notBefore()), Math.max(a.expiresAt(), b.expiresAt())));
+                return null;
+            }
+            if (!line.isEmpty()) {
+                log.warn("Ignoring malformed revocation entry {}", line);
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed revocation entry {}", line);
+        }
+        return null;
+    }
+
+    // Callers hold the lock, so no add() can slip in between filling and publishing the new filter
+    private BloomFilter buildBloom() {
+        bloomCapacity = Math.max(properties.getExpectedTokens(), tokens.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(bloomCapacity, properties.getFalsePositiveRate());
+        tokens.keySet().forEach(rebuilt::add);
+        return rebuilt;
+    }
+}
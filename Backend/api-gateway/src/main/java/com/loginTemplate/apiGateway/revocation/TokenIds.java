@@ -0,0 +1,55 @@
+package com.loginTemplate.apiGateway.revocation;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Base64;
+
+/*
+ * The claims revocation needs (jti, sub, iat), read from a JWT payload without verifying it.
+ * Signature checks stay with auth-service and the resource services; a forged token can only
+ * make the gateway reject it, never accept it.
+ * */
+public record TokenIds(String jti, String subject, long issuedAt) {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    // null when the value is not a JWT
+    public static TokenIds parse(String token) {
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (second < 0) {
+            return null;
+        }
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(token.substring(first + 1, second));
+            String jti = null;
+            String subject = null;
+            long issuedAt = 0;
+            try (JsonParser parser = JSON.createParser(payload)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return null;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    switch (field) {
+                        case "jti" -> jti = parser.getValueAsString();
+                        case "sub" -> subject = parser.getValueAsString();
+                        case "iat" -> issuedAt = parser.getValueAsLong();
+                        default -> {
+                            if (value.isStructStart()) {
+                                parser.skipChildren();
+                            }
+                        }
+                    }
+                }
+            }
+            return new TokenIds(jti, subject, issuedAt);
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.loginTemplate.apiGateway.bench;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.loginTemplate.apiGateway.config.AccessLogProperties;
+import com.loginTemplate.apiGateway.filters.AccessLogFilter;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Per-request cost of AccessLogFilter on the calling thread: no filter, default sampling
+ * (1%), and every request logged. The appender chain matches logback-spring.xml with the
+ * console swapped for a null stream.
+ *
+ *   mvn -Pjmh test-compile exec:exec
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccessLogFilterBenchmark {
+
+	private static final GatewayFilterChain UPSTREAM = exchange -> {
+		exchange.getResponse().setStatusCode(HttpStatus.OK);
+		return exchange.getResponse().setComplete();
+	};
+
+	private AccessLogFilter sampledFilter;
+	private AccessLogFilter alwaysFilter;
+
+	@Setup
+	public void setUp() {
+		LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+		encoder.setContext(context);
+		encoder.setPattern("%m%n");
+		encoder.start();
+
+		OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+		sink.setContext(context);
+		sink.setEncoder(encoder);
+		sink.setOutputStream(OutputStream.nullOutputStream());
+		sink.start();
+
+		AsyncAppender async = new AsyncAppender();
+		async.setContext(context);
+		async.setQueueSize(8192);
+		async.setDiscardingThreshold(0);
+		async.setNeverBlock(true);
+		async.addAppender(sink);
+		async.start();
+
+		Logger accessLog = context.getLogger("access-log");
+		accessLog.detachAndStopAllAppenders();
+		accessLog.setAdditive(false);
+		accessLog.addAppender(async);
+
+		AccessLogProperties sampled = new AccessLogProperties();
+		sampledFilter = new AccessLogFilter(sampled);
+
+		AccessLogProperties always = new AccessLogProperties();
+		always.setSampleRate(1.0);
+		alwaysFilter = new AccessLogFilter(always);
+	}
+
+	@Benchmark
+	public Object noFilter() {
+		return UPSTREAM.filter(exchange()).block();
+	}
+
+	@Benchmark
+	public Object accessLogSampled() {
+		return sampledFilter.filter(exchange(), UPSTREAM).block();
+	}
+
+	@Benchmark
+	public Object accessLogEveryRequest() {
+		return alwaysFilter.filter(exchange(), UPSTREAM).block();
+	}
+
+	private MockServerWebExchange exchange() {
+		return MockServerWebExchange.from(MockServerHttpRequest.post("/auth/login")
+				.header("X-Forwarded-For", "203.0.113.7")
+				.contentLength(64));
+	}
+}
@@ -0,0 +1,94 @@
+package com.loginTemplate.apiGateway.filters;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.loginTemplate.apiGateway.config.AccessLogProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogFilterTests {
+
+	private final AccessLogProperties properties = new AccessLogProperties();
+	private final AccessLogFilter filter = new AccessLogFilter(properties);
+	private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+	@BeforeEach
+	void attachAppender() {
+		appender.start();
+		((Logger) LoggerFactory.getLogger("access-log")).addAppender(appender);
+	}
+
+	@AfterEach
+	void detachAppender() {
+		((Logger) LoggerFactory.getLogger("access-log")).detachAppender(appender);
+	}
+
+	@Test
+	void ignoresForwardedForFromUntrustedPeers() {
+		MockServerHttpRequest request = request("203.0.113.7", "1.2.3.4");
+
+		assertEquals("203.0.113.7", filter.clientAddress(request));
+	}
+
+	@Test
+	void takesFirstUntrustedHopBehindTrustedProxies() {
+		properties.setTrustedProxies(List.of("10.0.0.1", "10.0.0.2"));
+
+		// "6.6.6.6" was sent by the client itself, the proxies appended the real client and 10.0.0.2
+		assertEquals("198.51.100.9", filter.clientAddress(request("10.0.0.1", "6.6.6.6, 198.51.100.9, 10.0.0.2")));
+		assertEquals("10.0.0.1", filter.clientAddress(request("10.0.0.1", null)));
+	}
+
+	@Test
+	void logsCancelledExchanges() {
+		properties.setSampleRate(0);
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/auth/login")
+				.remoteAddress(new InetSocketAddress("203.0.113.7", 5000)));
+
+		Disposable subscription = filter.filter(exchange, ignored -> Mono.never()).subscribe();
+		subscription.dispose();
+
+		assertEquals(1, appender.list.size());
+		String line = appender.list.get(0).getFormattedMessage();
+		assertTrue(line.contains("\"status\":499"), line);
+		assertTrue(line.contains("\"cancelled\":true"), line);
+	}
+
+	@Test
+	void countsChunkedRequestBodiesAsTheyStream() {
+		properties.setSampleRate(1);
+		DefaultDataBufferFactory buffers = DefaultDataBufferFactory.sharedInstance;
+		// No Content-Length, as with Transfer-Encoding: chunked
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/auth/signup")
+				.remoteAddress(new InetSocketAddress("203.0.113.7", 5000))
+				.body(Flux.just(buffers.wrap("{\"email\":".getBytes()), buffers.wrap("\"a@b.c\"}".getBytes()))));
+
+		filter.filter(exchange, forwarded -> forwarded.getRequest().getBody().then()).block();
+
+		String line = appender.list.get(0).getFormattedMessage();
+		assertTrue(line.contains("\"bytesIn\":17"), line);
+	}
+
+	private static MockServerHttpRequest request(String peer, String forwardedFor) {
+		MockServerHttpRequest.BaseBuilder<?> builder = MockServerHttpRequest.get("/auth/login")
+				.remoteAddress(new InetSocketAddress(peer, 5000));
+		if (forwardedFor != null) {
+			builder.header("X-Forwarded-For", forwardedFor);
+		}
+		return builder.build();
+	}
+}
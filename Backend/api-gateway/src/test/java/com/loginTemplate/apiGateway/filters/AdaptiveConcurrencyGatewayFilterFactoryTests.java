@@ -0,0 +1,89 @@
+package com.loginTemplate.apiGateway.filters;
+
+import com.loginTemplate.apiGateway.config.ConcurrencyLimitProperties;
+import com.loginTemplate.apiGateway.limiter.GradientLimiter;
+import com.loginTemplate.apiGateway.limiter.LimiterRegistry;
+import com.loginTemplate.apiGateway.limiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyGatewayFilterFactoryTests {
+
+	private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+	private final LimiterRegistry limiters = new LimiterRegistry(properties, new SimpleMeterRegistry());
+	private final GatewayFilter filter = filter(Priority.NORMAL);
+	private final GradientLimiter limiter = limiters.get("auth-service");
+
+	@Test
+	void cancelReleasesTheSlotWithoutTouchingTheLimit() {
+		Disposable request = filter.filter(exchange(), exchange -> Mono.never()).subscribe();
+		assertEquals(1, limiter.getInFlight());
+
+		request.dispose();
+
+		assertEquals(0, limiter.getInFlight());
+		assertEquals(properties.getInitialLimit(), limiter.getLimit());
+	}
+
+	@Test
+	void serverErrorsReleaseAndBackOff() {
+		GatewayFilterChain failing = exchange -> {
+			exchange.getResponse().setStatusCode(HttpStatus.BAD_GATEWAY);
+			return Mono.empty();
+		};
+
+		filter.filter(exchange(), failing).block();
+
+		assertEquals(0, limiter.getInFlight());
+		assertEquals((int) (properties.getInitialLimit() * properties.getBackoffRatio()), limiter.getLimit());
+	}
+
+	@Test
+	void upstreamErrorsReleaseAndBackOff() {
+		GatewayFilterChain failing = exchange -> Mono.error(new IllegalStateException("connection refused"));
+
+		assertThrows(IllegalStateException.class, () -> filter.filter(exchange(), failing).block());
+
+		assertEquals(0, limiter.getInFlight());
+		assertTrue(limiter.getLimit() < properties.getInitialLimit());
+	}
+
+	@Test
+	void shedsWith503WhenFull() {
+		properties.setInitialLimit(1);
+		GradientLimiter full = limiters.get("full");
+		assertTrue(full.tryAcquire(Priority.HIGH));
+		MockServerWebExchange exchange = exchange();
+
+		new AdaptiveConcurrencyGatewayFilterFactory(limiters, properties).apply(config("full", Priority.HIGH))
+				.filter(exchange, ignored -> fail("must not reach the upstream")).block();
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exchange.getResponse().getStatusCode());
+		assertEquals("1", exchange.getResponse().getHeaders().getFirst("Retry-After"));
+		assertEquals(1, full.getInFlight());
+	}
+
+	private GatewayFilter filter(Priority priority) {
+		return new AdaptiveConcurrencyGatewayFilterFactory(limiters, properties).apply(config("auth-service", priority));
+	}
+
+	private static AdaptiveConcurrencyGatewayFilterFactory.Config config(String limiter, Priority priority) {
+		AdaptiveConcurrencyGatewayFilterFactory.Config config = new AdaptiveConcurrencyGatewayFilterFactory.Config();
+		config.setLimiter(limiter);
+		config.setPriority(priority);
+		return config;
+	}
+
+	private static MockServerWebExchange exchange() {
+		return MockServerWebExchange.from(MockServerHttpRequest.post("/auth/login"));
+	}
+}
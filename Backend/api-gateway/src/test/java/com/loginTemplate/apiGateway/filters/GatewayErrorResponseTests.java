@@ -0,0 +1,25 @@
+package com.loginTemplate.apiGateway.filters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayErrorResponseTests {
+
+	@Test
+	void bodyStaysValidJsonWithControlCharacters() throws Exception {
+		MockServerHttpResponse response = new MockServerHttpResponse();
+		String message = "bad \"field\"\n\tat \\path\u0001";
+
+		GatewayErrorResponse.write(response, HttpStatus.BAD_REQUEST, message).block();
+
+		JsonNode body = new ObjectMapper().readTree(response.getBodyAsString().block());
+		assertEquals(message, body.get("responseMessage").asText());
+		assertEquals("BAD_REQUEST", body.get("statusCode").asText());
+		assertEquals(1, body.get("responseStatus").asInt());
+	}
+}
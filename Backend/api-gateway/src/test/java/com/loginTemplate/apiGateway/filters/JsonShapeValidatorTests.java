@@ -0,0 +1,46 @@
+package com.loginTemplate.apiGateway.filters;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonShapeValidatorTests {
+
+	private static final List<String> LOGIN_FIELDS = List.of("identifier", "password");
+
+	private boolean validate(String... chunks) {
+		JsonShapeValidator validator = new JsonShapeValidator(LOGIN_FIELDS, 4);
+		for (String chunk : chunks) {
+			if (!validator.feed(chunk.getBytes(StandardCharsets.UTF_8))) {
+				return false;
+			}
+		}
+		return validator.finish();
+	}
+
+	@Test
+	void acceptsValidBodySplitAcrossChunks() {
+		assertTrue(validate("{\"identif", "ier\":\"ash\",\"pass", "word\":\"secret\",\"extra\":{\"a\":[1]}}"));
+	}
+
+	@Test
+	void rejectsMissingBlankOrNonStringFields() {
+		assertFalse(validate("{\"identifier\":\"ash\"}"));
+		assertFalse(validate("{\"identifier\":\"ash\",\"password\":\"  \"}"));
+		assertFalse(validate("{\"identifier\":\"ash\",\"password\":123}"));
+		assertFalse(validate("{\"identifier\":{\"x\":1},\"password\":\"p\"}"));
+	}
+
+	@Test
+	void rejectsMalformedOrNonObjectBodies() {
+		assertFalse(validate("[\"identifier\"]"));
+		assertFalse(validate("{\"identifier\":\"ash\",\"password\":\"p\""));
+		assertFalse(validate("{\"identifier\":\"ash\",\"password\":\"p\"}{}"));
+		assertFalse(validate("{\"identifier\":\"ash\",\"password\":\"p\",\"d\":[[[[[1]]]]]}"));
+		assertFalse(validate("not json"));
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.loginTemplate.apiGateway.limiter;
+
+import com.loginTemplate.apiGateway.config.ConcurrencyLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientLimiterTests {
+
+	private static final long MILLIS = 1_000_000;
+
+	@Test
+	void growsWhileSaturatedAtSteadyLatency() {
+		GradientLimiter limiter = new GradientLimiter("test", new ConcurrencyLimitProperties());
+		int initial = limiter.getLimit();
+
+		runSaturated(limiter, 200, 10 * MILLIS);
+
+		assertTrue(limiter.getLimit() > initial);
+	}
+
+	@Test
+	void shrinksWhenLatencyRises() {
+		GradientLimiter limiter = new GradientLimiter("test", new ConcurrencyLimitProperties());
+		runSaturated(limiter, 300, 10 * MILLIS);
+		int before = limiter.getLimit();
+
+		// Upstream starts queueing: latency 5x the baseline
+		runSaturated(limiter, 30, 50 * MILLIS);
+
+		assertTrue(limiter.getLimit() < before);
+	}
+
+	@Test
+	void trafficMixShiftIsNotReadAsQueueing() {
+		GradientLimiter limiter = new GradientLimiter("test", new ConcurrencyLimitProperties());
+		while (limiter.tryAcquire(Priority.HIGH)) {
+		}
+		// Fast refreshes and slow logins, both at their usual latency
+		for (int i = 0; i < 300; i++) {
+			limiter.onSuccess(i % 2 == 0 ? Priority.HIGH : Priority.NORMAL, (i % 2 == 0 ? 5 : 100) * MILLIS);
+			while (limiter.tryAcquire(Priority.HIGH)) {
+			}
+		}
+		int before = limiter.getLimit();
+
+		// Login burst: only slow samples for a while, still at the usual login latency
+		for (int i = 0; i < 30; i++) {
+			limiter.onSuccess(Priority.NORMAL, 100 * MILLIS);
+			while (limiter.tryAcquire(Priority.HIGH)) {
+			}
+		}
+
+		assertTrue(limiter.getLimit() >= before);
+	}
+
+	@Test
+	void failuresBackOffDownToMinimum() {
+		ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+		GradientLimiter limiter = new GradientLimiter("test", properties);
+		for (int i = 0; i < 100; i++) {
+			assertTrue(limiter.tryAcquire(Priority.HIGH));
+			limiter.onFailure();
+		}
+		assertEquals(properties.getMinLimit(), limiter.getLimit());
+		assertEquals(0, limiter.getInFlight());
+	}
+
+	@Test
+	void lowerPrioritiesAreShedFirst() {
+		ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+		properties.setInitialLimit(10);
+		properties.setNormalShare(0.8);
+		properties.setLowShare(0.5);
+		GradientLimiter limiter = new GradientLimiter("test", properties);
+
+		for (int i = 0; i < 5; i++) {
+			assertTrue(limiter.tryAcquire(Priority.LOW));
+		}
+		assertFalse(limiter.tryAcquire(Priority.LOW));
+		assertTrue(limiter.tryAcquire(Priority.NORMAL));
+		assertTrue(limiter.tryAcquire(Priority.NORMAL));
+		assertTrue(limiter.tryAcquire(Priority.NORMAL));
+		assertFalse(limiter.tryAcquire(Priority.NORMAL));
+		assertTrue(limiter.tryAcquire(Priority.HIGH));
+		assertTrue(limiter.tryAcquire(Priority.HIGH));
+		assertFalse(limiter.tryAcquire(Priority.HIGH));
+	}
+
+	// Keeps the limiter full: every completion is immediately replaced by a new request
+	private static void runSaturated(GradientLimiter limiter, int completions, long rttNanos) {
+		while (limiter.tryAcquire(Priority.HIGH)) {
+		}
+		for (int i = 0; i < completions; i++) {
+			limiter.onSuccess(Priority.HIGH, rttNanos);
+			while (limiter.tryAcquire(Priority.HIGH)) {
+			}
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.loginTemplate.apiGateway.reference;
+
+import com.loginTemplate.apiGateway.config.ReferenceTokenProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceTokenCacheTests {
+
+	private static final long NOW = 1_700_000_000L;
+
+	@Test
+	void entriesLiveUntilTokenExpiry() {
+		ReferenceTokenCache cache = new ReferenceTokenCache(new ReferenceTokenProperties());
+		cache.put("rt_a", "jwt-a", NOW + 900, NOW);
+
+		assertEquals("jwt-a", cache.get("rt_a", NOW + 899).jwt());
+		assertNull(cache.get("rt_a", NOW + 900));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void missesAreRememberedBriefly() {
+		ReferenceTokenProperties properties = new ReferenceTokenProperties();
+		properties.setNegativeTtlSeconds(5);
+		ReferenceTokenCache cache = new ReferenceTokenCache(properties);
+		cache.putMiss("rt_unknown", NOW);
+
+		assertTrue(cache.get("rt_unknown", NOW + 4).isMiss());
+		assertNull(cache.get("rt_unknown", NOW + 5));
+	}
+
+	@Test
+	void sweepRemovesExpiredEntries() {
+		ReferenceTokenCache cache = new ReferenceTokenCache(new ReferenceTokenProperties());
+		cache.put("rt_a", "jwt-a", NOW + 10, NOW);
+		cache.put("rt_b", "jwt-b", NOW + 900, NOW);
+
+		cache.sweep(NOW + 10);
+
+		assertEquals(1, cache.size());
+		assertNotNull(cache.get("rt_b", NOW + 10));
+	}
+
+	@Test
+	void fullCacheEvictsExpiredEntriesFirst() {
+		ReferenceTokenProperties properties = new ReferenceTokenProperties();
+		properties.setMaxCachedTokens(3);
+		ReferenceTokenCache cache = new ReferenceTokenCache(properties);
+		cache.put("rt_a", "jwt-a", NOW + 10, NOW);
+		cache.put("rt_b", "jwt-b", NOW + 900, NOW);
+		cache.put("rt_c", "jwt-c", NOW + 900, NOW);
+
+		cache.put("rt_d", "jwt-d", NOW + 900, NOW + 10);
+
+		assertEquals(3, cache.size());
+		assertNotNull(cache.get("rt_b", NOW + 10));
+		assertNotNull(cache.get("rt_c", NOW + 10));
+		assertNotNull(cache.get("rt_d", NOW + 10));
+	}
+
+	@Test
+	void fullCacheOfLiveEntriesEvictsOnlyAFew() {
+		ReferenceTokenProperties properties = new ReferenceTokenProperties();
+		properties.setMaxCachedTokens(64);
+		ReferenceTokenCache cache = new ReferenceTokenCache(properties);
+		for (int i = 0; i < 64; i++) {
+			cache.put("rt_" + i, "jwt-" + i, NOW + 900, NOW);
+		}
+
+		cache.put("rt_new", "jwt-new", NOW + 900, NOW);
+
+		// 64 - 64/16 kept, then the new one
+		assertEquals(61, cache.size());
+		assertNotNull(cache.get("rt_new", NOW));
+	}
+}
@@ -0,0 +1,154 @@
+package com.loginTemplate.apiGateway.reference;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.loginTemplate.apiGateway.config.ReferenceTokenProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceTokenResolverTests {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	// References sent to the stub auth-service, one list per call
+	private final List<List<String>> calls = new CopyOnWriteArrayList<>();
+	private final ReferenceTokenProperties properties = new ReferenceTokenProperties();
+	private final ReferenceTokenCache cache = new ReferenceTokenCache(properties);
+	private volatile boolean failing;
+	private DisposableServer server;
+
+	@BeforeEach
+	void startAuthService() {
+		// Knows every reference except rt_unknown
+		server = HttpServer.create().port(0)
+				.route(routes -> routes.post("/resolve", (request, response) -> request.receive().aggregate().asString()
+						.flatMap(body -> {
+							List<String> references = references(body);
+							calls.add(references);
+							if (failing) {
+								return response.status(500).send().then();
+							}
+							return response.header("Content-Type", "application/json")
+									.sendString(Mono.just(resolved(references))).then();
+						})))
+				.bindNow();
+		properties.setResolveUrl("http://localhost:" + server.port() + "/resolve");
+		properties.setGatewaySecret("secret");
+	}
+
+	@AfterEach
+	void stopAuthService() {
+		server.disposeNow();
+	}
+
+	@Test
+	void missesWithinTheWindowShareOneCall() {
+		properties.setBatchWindowMillis(50);
+		ReferenceTokenResolver resolver = resolver();
+
+		Mono<String> a = resolver.resolve("rt_a");
+		Mono<String> b = resolver.resolve("rt_b");
+		Mono<String> unknown = resolver.resolve("rt_unknown");
+
+		assertEquals("jwt-rt_a", a.block(TIMEOUT));
+		assertEquals("jwt-rt_b", b.block(TIMEOUT));
+		assertNull(unknown.block(TIMEOUT));
+		assertEquals(1, calls.size());
+		assertEquals(3, calls.get(0).size());
+		assertEquals("jwt-rt_a", cache.get("rt_a", Instant.now().getEpochSecond()).jwt());
+		assertTrue(cache.get("rt_unknown", Instant.now().getEpochSecond()).isMiss());
+	}
+
+	@Test
+	void fullBatchIsSentWithoutWaitingForTheWindow() {
+		properties.setBatchWindowMillis(60_000);
+		properties.setMaxBatchSize(2);
+		ReferenceTokenResolver resolver = resolver();
+
+		Mono<String> a = resolver.resolve("rt_a");
+		Mono<String> b = resolver.resolve("rt_b");
+
+		assertEquals("jwt-rt_a", a.block(TIMEOUT));
+		assertEquals("jwt-rt_b", b.block(TIMEOUT));
+		assertEquals(List.of(List.of("rt_a", "rt_b")), sortedCalls());
+	}
+
+	@Test
+	void concurrentRequestsForOneReferenceShareOneLookup() {
+		properties.setBatchWindowMillis(50);
+		ReferenceTokenResolver resolver = resolver();
+
+		Mono<String> first = resolver.resolve("rt_a");
+		Mono<String> second = resolver.resolve("rt_a");
+
+		assertEquals("jwt-rt_a", first.block(TIMEOUT));
+		assertEquals("jwt-rt_a", second.block(TIMEOUT));
+		assertEquals(List.of(List.of("rt_a")), calls);
+	}
+
+	@Test
+	void failedCallFailsEveryWaitingRequest() {
+		failing = true;
+		properties.setBatchWindowMillis(50);
+		ReferenceTokenResolver resolver = resolver();
+
+		Mono<String> a = resolver.resolve("rt_a");
+		Mono<String> b = resolver.resolve("rt_b");
+
+		assertThrows(WebClientResponseException.class, () -> a.block(TIMEOUT));
+		assertThrows(WebClientResponseException.class, () -> b.block(TIMEOUT));
+		assertEquals(1, calls.size());
+		// Nothing is cached, the next request tries again
+		assertEquals(0, cache.size());
+	}
+
+	private ReferenceTokenResolver resolver() {
+		return new ReferenceTokenResolver(properties, cache, WebClient.builder());
+	}
+
+	private static List<String> references(String body) {
+		try {
+			List<String> references = new ArrayList<>();
+			MAPPER.readTree(body).path("tokens").forEach(node -> references.add(node.asText()));
+			return references;
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String resolved(List<String> references) {
+		try {
+			ObjectNode tokens = MAPPER.createObjectNode();
+			for (String reference : references) {
+				if (!reference.equals("rt_unknown")) {
+					tokens.putObject(reference).put("jwt", "jwt-" + reference)
+							.put("expiresAt", Instant.now().getEpochSecond() + 900);
+				}
+			}
+			JsonNode response = MAPPER.createObjectNode().set("responseData", MAPPER.createObjectNode().set("tokens", tokens));
+			return MAPPER.writeValueAsString(response);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private List<List<String>> sortedCalls() {
+		return calls.stream().map(call -> call.stream().sorted().toList()).toList();
+	}
+}
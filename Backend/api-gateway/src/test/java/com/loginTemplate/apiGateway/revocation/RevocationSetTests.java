@@ -0,0 +1,78 @@
+package com.loginTemplate.apiGateway.revocation;
+
+import com.loginTemplate.apiGateway.config.RevocationProperties;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevocationSetTests {
+
+	private static final long NOW = 1_700_000_000L;
+
+	@Test
+	void deltasAddToSnapshotAndExpire() {
+		RevocationSet set = new RevocationSet(new RevocationProperties());
+		set.applySnapshot("a1-3\nJ jti-1 " + (NOW + 600));
+		set.applyDelta("a1-4\nJ jti-2 " + (NOW + 60));
+
+		assertEquals("a1-4", set.getCursor());
+		assertTrue(set.isRevoked("jti-1", "user", NOW - 10, NOW));
+		assertTrue(set.isRevoked("jti-2", "user", NOW - 10, NOW));
+		assertFalse(set.isRevoked("jti-3", "user", NOW - 10, NOW));
+
+		// Past expiry the entry no longer matches, sweep then frees it
+		assertFalse(set.isRevoked("jti-2", "user", NOW - 10, NOW + 61));
+		set.sweep(NOW + 61);
+		assertEquals(1, set.size());
+	}
+
+	@Test
+	void snapshotReplacesState() {
+		RevocationSet set = new RevocationSet(new RevocationProperties());
+		set.applySnapshot("a1-1\nJ jti-1 " + (NOW + 600));
+		set.applySnapshot("b2-0\nJ jti-2 " + (NOW + 600));
+
+		assertFalse(set.isRevoked("jti-1", null, 0, NOW));
+		assertTrue(set.isRevoked("jti-2", null, 0, NOW));
+	}
+
+	@Test
+	void userCutoffHitsTokensUpToItsSecond() {
+		RevocationSet set = new RevocationSet(new RevocationProperties());
+		set.applyDelta("a1-1\nU user-1 " + NOW + " " + (NOW + 900));
+
+		assertTrue(set.isRevoked("any", "user-1", NOW - 1, NOW));
+		// Issued in the same second, possibly just before the cut-off
+		assertTrue(set.isRevoked("any", "user-1", NOW, NOW));
+		assertFalse(set.isRevoked("any", "user-1", NOW + 1, NOW + 1));
+		assertFalse(set.isRevoked("any", "user-2", NOW - 1, NOW));
+	}
+
+	@Test
+	void bloomFilterGrowsWithDeltas() {
+		RevocationProperties properties = new RevocationProperties();
+		properties.setExpectedTokens(8);
+		RevocationSet set = new RevocationSet(properties);
+		for (int i = 0; i < 100; i++) {
+			set.applyDelta("a1-" + i + "\nJ jti-" + i + " " + (NOW + 600));
+		}
+		for (int i = 0; i < 100; i++) {
+			assertTrue(set.isRevoked("jti-" + i, null, 0, NOW));
+		}
+	}
+
+	@Test
+	void readsIdsFromJwtPayload() {
+		String payload = "{\"sub\":\"user-1\",\"roles\":[\"ROLE_USER\"],\"iat\":1700000000,\"jti\":\"jti-1\"}";
+		String token = "eyJhbGciOiJFUzI1NiJ9."
+				+ Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+				+ ".sig";
+
+		TokenIds ids = TokenIds.parse(token);
+		assertEquals(new TokenIds("jti-1", "user-1", 1_700_000_000L), ids);
+		assertNull(TokenIds.parse("not-a-jwt"));
+	}
+}
@@ -0,0 +1,46 @@
+package com.loginTemplate.authClient;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.crypto.impl.ECDSA;
+
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+
+/*
+ * ES256 verification of the raw "header.payload" bytes of a compact JWS.
+ * Signature objects are not thread-safe, so each thread keeps its own, initialised once.
+ * */
+public class EcdsaVerifier {
+
+    private static final int ES256_SIGNATURE_BYTES = 64;
+
+    private final ThreadLocal<Signature> signatures;
+
+    public EcdsaVerifier(ECPublicKey publicKey) {
+        this.signatures = ThreadLocal.withInitial(() -> {
+            try {
+                Signature signature = Signature.getInstance("SHA256withECDSA");
+                signature.initVerify(publicKey);
+                return signature;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("SHA256withECDSA unavailable", e);
+            }
+        });
+    }
+
+    public boolean verify(byte[] signingInput, int length, byte[] jwsSignature) {
+        if (jwsSignature.length != ES256_SIGNATURE_BYTES) {
+            return false;
+        }
+        try {
+            Signature signature = signatures.get();
+            signature.update(signingInput, 0, length);
+            return signature.verify(ECDSA.transcodeSignatureToDER(jwsSignature));
+        } catch (GeneralSecurityException | JOSEException e) {
+            // A failed update can leave partial input behind, start over with a fresh instance
+            signatures.remove();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.loginTemplate.authClient;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.interfaces.ECPublicKey;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/*
+ * Holds one EcdsaVerifier per kid from auth-service's JWKS (/auth/.well-known/jwks.json).
+ *
+ * The key set is refetched after refreshInterval, or early when a token names an unknown
+ * kid (key rotation). Early refetches are limited to one per minRefetchInterval so tokens
+ * with random kids cannot hammer auth-service.
+ *
+ * Only the first load and an unknown kid fetch on the caller's thread. The periodic refresh
+ * runs on a background thread while callers keep using the current keys, and a failed or
+ * invalid fetch keeps them too.
+ * */
+public class JwksKeyCache {
+
+    private final Supplier<String> jwksSource;
+    private final long refreshIntervalMillis;
+    private final long minRefetchIntervalMillis;
+    private final Executor refresher;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Map<String, EcdsaVerifier> verifiers = Map.of();
+    private volatile long fetchedAt = 0;
+
+    public JwksKeyCache(Supplier<String> jwksSource, Duration refreshInterval, Duration minRefetchInterval) {
+        this(jwksSource, refreshInterval, minRefetchInterval,
+                task -> Thread.ofVirtual().name("jwks-refresh").start(task));
+    }
+
+    JwksKeyCache(Supplier<String> jwksSource, Duration refreshInterval, Duration minRefetchInterval, Executor refresher) {
+        this.jwksSource = jwksSource;
+        this.refreshIntervalMillis = refreshInterval.toMillis();
+        this.minRefetchIntervalMillis = minRefetchInterval.toMillis();
+        this.refresher = refresher;
+    }
+
+    public static JwksKeyCache fromUrl(String jwksUrl) {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(jwksUrl)).timeout(Duration.ofSeconds(5)).GET().build();
+        return new JwksKeyCache(() -> {
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    throw new TokenVerificationException("JWKS fetch failed with HTTP " + response.statusCode());
+                }
+                return response.body();
+            } catch (java.io.IOException e) {
+                throw new TokenVerificationException("JWKS fetch failed", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TokenVerificationException("JWKS fetch interrupted", e);
+            }
+        }, Duration.ofMinutes(10), Duration.ofSeconds(30));
+    }
+
+    public EcdsaVerifier verifierFor(String kid) {
+        long now = System.currentTimeMillis();
+        if (verifiers.isEmpty()) {
+            refresh(now, minRefetchIntervalMillis);
+        } else if (now - fetchedAt > refreshIntervalMillis) {
+            refreshInBackground();
+        }
+
+        EcdsaVerifier verifier = verifiers.get(kid);
+        if (verifier == null && now - fetchedAt > minRefetchIntervalMillis) {
+            refresh(now, minRefetchIntervalMillis);
+            verifier = verifiers.get(kid);
+        }
+        if (verifier == null) {
+            throw new TokenVerificationException("Unknown signing key " + kid);
+        }
+        return verifier;
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    refresh(System.currentTimeMillis(), refreshIntervalMillis);
+                } catch (TokenVerificationException ignored) {
+                    // Keys were loaded before, refresh only throws while there are none
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+        }
+    }
+
+    private synchronized void refresh(long now, long minAgeMillis) {
+        if (now - fetchedAt <= minAgeMillis && !verifiers.isEmpty()) {
+            return; // another thread refreshed while we waited
+        }
+        try {
+            Map<String, EcdsaVerifier> loaded = new HashMap<>();
+            for (JWK jwk : JWKSet.parse(jwksSource.get()).getKeys()) {
+                if (jwk instanceof ECKey ecKey && jwk.getKeyID() != null) {
+                    ECPublicKey publicKey = ecKey.toECPublicKey();
+                    loaded.put(jwk.getKeyID(), new EcdsaVerifier(publicKey));
+                }
+            }
+            verifiers = Map.copyOf(loaded);
+        } catch (ParseException | JOSEException e) {
+            // A broken document must not take down keys that still verify
+            if (verifiers.isEmpty()) {
+                throw new TokenVerificationException("Invalid JWKS document", e);
+            }
+        } catch (TokenVerificationException e) {
+            // Keep serving the previous keys if auth-service is briefly unreachable
+            if (verifiers.isEmpty()) {
+                throw e;
+            }
+        } finally {
+            fetchedAt = now;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.loginTemplate.authClient;
+
+/*
+ * Thrown for any token that must not be trusted: malformed, unknown key, bad signature,
+ * expired or of the wrong type. The message is safe to log, never echo it to clients.
+ * */
+public class TokenVerificationException extends RuntimeException {
+    public TokenVerificationException(String message) {
+        super(message);
+    }
+
+    public TokenVerificationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,118 @@
+package com.loginTemplate.authClient;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+ * Verifies access tokens issued by auth-service's JwtService without a full JWT parse:
+ *
+ *   TokenVerifier verifier = new TokenVerifier(
+ *           JwksKeyCache.fromUrl("http://api-gateway:8080/auth/.well-known/jwks.json"), "ashen-phoenix");
+ *   VerifiedToken token = verifier.verifyAccessToken(bearerToken);
+ *   token.subject(); token.roles();
+ *
+ * Only alg/kid are read from the header. The signature is checked over the raw
+ * "header.payload" bytes with the cached per-kid verifier, then exp, iss and type,
+ * everything else is decoded on demand by VerifiedToken.
+ * Thread-safe, share one instance per service.
+ * */
+public class TokenVerifier {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final Base64.Decoder BASE64_URL = Base64.getUrlDecoder();
+
+    private final JwksKeyCache keyCache;
+    private final String expectedIssuer;
+    private final long clockSkewSeconds;
+
+    public TokenVerifier(JwksKeyCache keyCache, String expectedIssuer) {
+        this(keyCache, expectedIssuer, 30);
+    }
+
+    public TokenVerifier(JwksKeyCache keyCache, String expectedIssuer, long clockSkewSeconds) {
+        this.keyCache = keyCache;
+        this.expectedIssuer = expectedIssuer;
+        this.clockSkewSeconds = clockSkewSeconds;
+    }
+
+    public VerifiedToken verifyAccessToken(String token) {
+        VerifiedToken verified = verify(token);
+        if (!"access".equals(verified.type())) {
+            throw new TokenVerificationException("Not an access token");
+        }
+        return verified;
+    }
+
+    public VerifiedToken verify(String token) {
+        if (token == null) {
+            throw new TokenVerificationException("Token missing");
+        }
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            throw new TokenVerificationException("Token is not a compact JWS");
+        }
+
+        byte[] ascii = token.getBytes(StandardCharsets.US_ASCII);
+        byte[] signature;
+        byte[] payload;
+        String kid;
+        try {
+            kid = readKid(BASE64_URL.decode(token.substring(0, firstDot)));
+            payload = BASE64_URL.decode(token.substring(firstDot + 1, secondDot));
+            signature = BASE64_URL.decode(token.substring(secondDot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new TokenVerificationException("Token is not valid base64url", e);
+        }
+
+        if (!keyCache.verifierFor(kid).verify(ascii, secondDot, signature)) {
+            throw new TokenVerificationException("Invalid token signature");
+        }
+
+        VerifiedToken verified = new VerifiedToken(payload);
+        long now = System.currentTimeMillis() / 1000;
+        if (verified.expiresAt() == 0 || verified.expiresAt() + clockSkewSeconds < now) {
+            throw new TokenVerificationException("Token expired");
+        }
+        if (expectedIssuer != null && !expectedIssuer.equals(verified.issuer())) {
+            throw new TokenVerificationException("Unexpected token issuer");
+        }
+        return verified;
+    }
+
+    // Reads kid and rejects anything but ES256, the only algorithm JwtService signs with
+    private String readKid(byte[] header) {
+        String alg = null;
+        String kid = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(header)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new TokenVerificationException("Token header is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("alg".equals(name) && value == JsonToken.VALUE_STRING) {
+                    alg = parser.getText();
+                } else if ("kid".equals(name) && value == JsonToken.VALUE_STRING) {
+                    kid = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new TokenVerificationException("Malformed token header", e);
+        }
+        if (!"ES256".equals(alg)) {
+            throw new TokenVerificationException("Unsupported token algorithm " + alg);
+        }
+        if (kid == null) {
+            throw new TokenVerificationException("Token has no kid");
+        }
+        return kid;
+    }
+}
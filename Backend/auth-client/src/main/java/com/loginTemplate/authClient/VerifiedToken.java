@@ -0,0 +1,118 @@
+package com.loginTemplate.authClient;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * A token whose signature has been verified. Claims are decoded lazily: the first accessor
+ * call streams over the payload once, picks out the claims this class exposes and caches
+ * them, so a token that is only checked for its signature is never parsed. No claims map
+ * is built. Instances are meant for one request thread.
+ * */
+public class VerifiedToken {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final byte[] payload;
+
+    private boolean decoded;
+    private String subject;
+    private String type;
+    private String issuer;
+    private String jwtId;
+    private long expiresAt;
+    private List<String> roles = List.of();
+
+    VerifiedToken(byte[] payload) {
+        this.payload = payload;
+    }
+
+    public String subject() {
+        decode();
+        return subject;
+    }
+
+    public String type() {
+        decode();
+        return type;
+    }
+
+    public String issuer() {
+        decode();
+        return issuer;
+    }
+
+    public String jwtId() {
+        decode();
+        return jwtId;
+    }
+
+    // Epoch seconds, 0 when the token has no exp claim
+    public long expiresAt() {
+        decode();
+        return expiresAt;
+    }
+
+    public List<String> roles() {
+        decode();
+        return roles;
+    }
+
+    private void decode() {
+        if (decoded) {
+            return;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new TokenVerificationException("Token payload is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "sub" -> subject = stringValue(parser, value);
+                    case "type" -> type = stringValue(parser, value);
+                    case "iss" -> issuer = stringValue(parser, value);
+                    case "jti" -> jwtId = stringValue(parser, value);
+                    case "exp" -> expiresAt = value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : 0;
+                    case "roles" -> roles = stringArray(parser, value);
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new TokenVerificationException("Malformed token payload", e);
+        }
+        decoded = true;
+    }
+
+    private static String stringValue(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static List<String> stringArray(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return List.of();
+        }
+        List<String> values = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token == JsonToken.VALUE_STRING) {
+                values.add(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return Collections.unmodifiableList(values);
+    }
+}
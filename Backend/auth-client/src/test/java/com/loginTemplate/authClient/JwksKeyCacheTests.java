@@ -0,0 +1,62 @@
+package com.loginTemplate.authClient;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwksKeyCacheTests {
+
+	private final TestTokens tokens = new TestTokens();
+	private final AtomicInteger fetches = new AtomicInteger();
+	private final List<Runnable> background = new ArrayList<>();
+
+	@Test
+	void staleKeysAreServedWhileOneBackgroundRefreshRuns() throws Exception {
+		JwksKeyCache cache = cache(tokens::jwks, Duration.ZERO, Duration.ofMinutes(1));
+		EcdsaVerifier first = cache.verifierFor("test-es256");
+		Thread.sleep(5);
+
+		// Stale: the caller gets the loaded key right away, the refetch is only queued, once
+		assertSame(first, cache.verifierFor("test-es256"));
+		assertSame(first, cache.verifierFor("test-es256"));
+		assertEquals(1, fetches.get());
+		assertEquals(1, background.size());
+
+		background.get(0).run();
+		assertEquals(2, fetches.get());
+		assertNotSame(first, cache.verifierFor("test-es256"));
+	}
+
+	@Test
+	void invalidDocumentKeepsThePreviousKeys() {
+		List<String> documents = new ArrayList<>(List.of(tokens.jwks(), "{not json", "{not json"));
+		JwksKeyCache cache = cache(() -> documents.size() > 1 ? documents.remove(0) : documents.get(0),
+				Duration.ofMinutes(10), Duration.ZERO);
+		cache.verifierFor("test-es256");
+
+		// The unknown kid triggers a refetch that returns garbage
+		TokenVerificationException e = assertThrows(TokenVerificationException.class, () -> cache.verifierFor("rotated"));
+		assertEquals("Unknown signing key rotated", e.getMessage());
+		assertNotNull(cache.verifierFor("test-es256"));
+	}
+
+	@Test
+	void invalidDocumentFailsTheFirstLoad() {
+		JwksKeyCache cache = cache(() -> "{not json", Duration.ofMinutes(10), Duration.ZERO);
+
+		assertThrows(TokenVerificationException.class, () -> cache.verifierFor("test-es256"));
+	}
+
+	private JwksKeyCache cache(Supplier<String> source, Duration refreshInterval, Duration minRefetchInterval) {
+		return new JwksKeyCache(() -> {
+			fetches.incrementAndGet();
+			return source.get();
+		}, refreshInterval, minRefetchInterval, background::add);
+	}
+}
@@ -0,0 +1,69 @@
+package com.loginTemplate.authClient;
+
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * Issues tokens shaped like auth-service's JwtService, shared by tests and benchmarks
+ * */
+public class TestTokens {
+
+	public static final String ISSUER = "ashen-phoenix";
+
+	private final ECKey key;
+
+	public TestTokens() {
+		try {
+			key = new ECKeyGenerator(Curve.P_256).keyID("test-es256").generate();
+		} catch (JOSEException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public String jwks() {
+		return new JWKSet(key.toPublicJWK()).toString();
+	}
+
+	public JwksKeyCache keyCache() {
+		return new JwksKeyCache(this::jwks, Duration.ofMinutes(10), Duration.ofSeconds(30));
+	}
+
+	public ECKey key() {
+		return key;
+	}
+
+	public String accessToken(String userId, long ttlSeconds) {
+		return sign(new JWTClaimsSet.Builder()
+				.subject(userId)
+				.issuer(ISSUER)
+				.issueTime(new Date())
+				.expirationTime(Date.from(Instant.now().plusSeconds(ttlSeconds)))
+				.jwtID(UUID.randomUUID().toString())
+				.claim("type", "access")
+				.claim("roles", List.of("ROLE_USER", "ROLE_ADMIN"))
+				.build());
+	}
+
+	public String sign(JWTClaimsSet claims) {
+		try {
+			SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.ES256)
+					.keyID(key.getKeyID()).type(JOSEObjectType.JWT).build(), claims);
+			jwt.sign(new ECDSASigner(key));
+			return jwt.serialize();
+		} catch (JOSEException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
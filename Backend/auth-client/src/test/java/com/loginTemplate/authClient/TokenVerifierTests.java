@@ -0,0 +1,54 @@
+package com.loginTemplate.authClient;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenVerifierTests {
+
+	private final TestTokens tokens = new TestTokens();
+	private final TokenVerifier verifier = new TokenVerifier(tokens.keyCache(), TestTokens.ISSUER);
+
+	@Test
+	void verifiesAndDecodesRequestedClaims() {
+		VerifiedToken token = verifier.verifyAccessToken(tokens.accessToken("user-1", 900));
+
+		assertEquals("user-1", token.subject());
+		assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), token.roles());
+		assertEquals("access", token.type());
+		assertTrue(token.expiresAt() > System.currentTimeMillis() / 1000);
+	}
+
+	@Test
+	void decodesPayloadOnceAndDefaultsAbsentClaims() {
+		VerifiedToken token = new VerifiedToken(
+				"{\"sub\":\"user-1\",\"extra\":{\"sub\":\"nested\"},\"roles\":[\"ROLE_USER\",{\"x\":1}]}".getBytes());
+
+		assertEquals("user-1", token.subject());
+		assertEquals(List.of("ROLE_USER"), token.roles());
+		assertNull(token.issuer());
+		assertNull(token.jwtId());
+		assertEquals(0, token.expiresAt());
+		assertSame(token.roles(), token.roles());
+
+		assertThrows(TokenVerificationException.class, () -> new VerifiedToken("[1]".getBytes()).subject());
+	}
+
+	@Test
+	void rejectsTamperedExpiredAndForeignTokens() {
+		String token = tokens.accessToken("user-1", 900);
+		String[] parts = token.split("\\.");
+		String tampered = parts[0] + "." + tokens.accessToken("user-2", 900).split("\\.")[1] + "." + parts[2];
+		assertThrows(TokenVerificationException.class, () -> verifier.verify(tampered));
+
+		assertThrows(TokenVerificationException.class, () -> verifier.verify(tokens.accessToken("user-1", -120)));
+
+		String foreign = new TestTokens().accessToken("user-1", 900);
+		assertThrows(TokenVerificationException.class, () -> verifier.verify(foreign));
+
+		assertThrows(TokenVerificationException.class, () -> verifier.verify("not-a-token"));
+	}
+
+}
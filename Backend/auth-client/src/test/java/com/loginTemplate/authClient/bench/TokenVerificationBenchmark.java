@@ -0,0 +1,79 @@
+package com.loginTemplate.authClient.bench;
+
+import com.loginTemplate.authClient.TestTokens;
+import com.loginTemplate.authClient.TokenVerifier;
+import com.loginTemplate.authClient.VerifiedToken;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * TokenVerifier against the plain Nimbus path other services use today
+ * (SignedJWT.parse + ECDSAVerifier + getJWTClaimsSet). Both check signature, exp and
+ * read sub; the "Roles" variants also read the roles claim.
+ *
+ *   mvn -Pjmh test-compile exec:exec
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenVerificationBenchmark {
+
+	private String token;
+	private TokenVerifier tokenVerifier;
+	private JWSVerifier nimbusVerifier;
+
+	@Setup
+	public void setUp() throws Exception {
+		TestTokens tokens = new TestTokens();
+		token = tokens.accessToken("8b0f3c52-4f3e-4d4c-9c4e-3a8b2f1d7e6a", 3600);
+		tokenVerifier = new TokenVerifier(tokens.keyCache(), TestTokens.ISSUER);
+		nimbusVerifier = new ECDSAVerifier(tokens.key().toECPublicKey());
+		tokenVerifier.verify(token); // load the key set outside the measurement
+	}
+
+	@Benchmark
+	public String authClientSubject() {
+		return tokenVerifier.verifyAccessToken(token).subject();
+	}
+
+	@Benchmark
+	public void authClientSubjectAndRoles(Blackhole blackhole) {
+		VerifiedToken verified = tokenVerifier.verifyAccessToken(token);
+		blackhole.consume(verified.subject());
+		blackhole.consume(verified.roles());
+	}
+
+	@Benchmark
+	public String nimbusSubject() throws Exception {
+		return nimbusClaims().getSubject();
+	}
+
+	@Benchmark
+	public void nimbusSubjectAndRoles(Blackhole blackhole) throws Exception {
+		JWTClaimsSet claims = nimbusClaims();
+		blackhole.consume(claims.getSubject());
+		blackhole.consume(claims.getStringListClaim("roles"));
+	}
+
+	private JWTClaimsSet nimbusClaims() throws Exception {
+		SignedJWT jwt = SignedJWT.parse(token);
+		if (!jwt.verify(nimbusVerifier)) {
+			throw new IllegalStateException("signature");
+		}
+		JWTClaimsSet claims = jwt.getJWTClaimsSet();
+		if (claims.getExpirationTime().before(new Date()) || !"access".equals(claims.getStringClaim("type"))) {
+			throw new IllegalStateException("claims");
+		}
+		return claims;
+	}
+}
@@ -0,0 +1,13 @@
+package com.loginTemplate.authServiceReactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class AuthServiceReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(AuthServiceReactiveApplication.class, args);
+	}
+
+}
@@ -0,0 +1,5 @@
+package com.loginTemplate.authServiceReactive.DTO;
+import org.springframework.http.HttpStatus;
+import java.util.Map;
+
+public record AuthResponse(HttpStatus statusCode, Map<Object, Object> responseData, String responseMessage, Integer responseStatus){};
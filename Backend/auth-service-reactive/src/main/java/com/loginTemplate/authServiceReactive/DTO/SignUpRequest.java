@@ -0,0 +1,14 @@
+package com.loginTemplate.authServiceReactive.DTO;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record SignUpRequest(
+        @NotBlank(message = "Username is required")
+        String userName,
+
+        @NotBlank(message = "Email is required")
+        String email,
+
+        @NotBlank(message = "Password is required")
+        String password
+) {}
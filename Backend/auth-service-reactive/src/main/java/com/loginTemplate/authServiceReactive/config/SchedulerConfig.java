@@ -0,0 +1,31 @@
+package com.loginTemplate.authServiceReactive.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/*
+ * CPU-heavy work never runs on the Netty event loop. BCrypt and ECDSA get their own
+ * bounded schedulers so a burst of logins queues instead of starving request I/O.
+ * */
+@Configuration
+public class SchedulerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler passwordScheduler(
+            @Value("${auth.schedulers.password-threads:0}") int threads,
+            @Value("${auth.schedulers.password-queue:10000}") int queueSize) {
+        return Schedulers.newBoundedElastic(threadsOrCores(threads), queueSize, "bcrypt");
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler cryptoScheduler(@Value("${auth.schedulers.crypto-threads:0}") int threads) {
+        return Schedulers.newParallel("ecdsa", threadsOrCores(threads));
+    }
+
+    private int threadsOrCores(int threads) {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
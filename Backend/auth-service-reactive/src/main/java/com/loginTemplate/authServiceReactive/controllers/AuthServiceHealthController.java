@@ -0,0 +1,12 @@
+package com.loginTemplate.authServiceReactive.controllers;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class AuthServiceHealthController {
+    @GetMapping("/actuator/health")
+    public String health() {
+        return "OK - auth-service-reactive";
+    }
+}
@@ -0,0 +1,55 @@
+package com.loginTemplate.authServiceReactive.controllers;
+
+import com.loginTemplate.authServiceReactive.DTO.AuthResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.MethodNotAllowedException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    //throw 400 when arguments are not fulfilled in API request
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<AuthResponse> handleValidationException(
+            WebExchangeBindException ex) {
+
+        Map<Object, Object> errors = new HashMap<>();
+
+        ex.getBindingResult().getFieldErrors()
+                .forEach(error ->
+                        errors.put(error.getField(), error.getDefaultMessage())
+                );
+
+        AuthResponse response = new AuthResponse(
+                HttpStatus.BAD_REQUEST,
+                errors,
+                "Validation Failed",
+                400
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    //throw 405 when user sends request with wrong HTTP verb
+    @ExceptionHandler(MethodNotAllowedException.class)
+    public ResponseEntity<AuthResponse> handleMethodNotSupported(
+            MethodNotAllowedException ex) {
+
+        AuthResponse response = new AuthResponse(
+                HttpStatus.METHOD_NOT_ALLOWED,
+                Map.of(),
+                "HTTP method not allowed for this endpoint",
+                405
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.METHOD_NOT_ALLOWED)
+                .body(response);
+    }
+
+}
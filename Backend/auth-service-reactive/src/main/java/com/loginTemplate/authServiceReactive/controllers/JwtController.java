@@ -0,0 +1,154 @@
+package com.loginTemplate.authServiceReactive.controllers;
+
+import com.loginTemplate.authServiceReactive.DTO.AuthResponse;
+import com.loginTemplate.authServiceReactive.DTO.LoginRequest;
+import com.loginTemplate.authServiceReactive.DTO.SignUpRequest;
+import com.loginTemplate.authServiceReactive.service.JwtService;
+import com.loginTemplate.authServiceReactive.service.UserService;
+import com.nimbusds.jose.jwk.JWKSet;
+import jakarta.validation.Valid;
+import org.springframework.http.*;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/auth")
+/*
+ * Same endpoints, status codes, bodies and cookies as auth-service's JwtController.
+ *
+ * Outside the revocation contract: logout only clears the cookie, and refresh does not check
+ * RevocationStore cut-offs (a disabled user is still refused through getRoles). Gateways follow
+ * /internal/revocations of the MVC build only, see the README.
+ * */
+public class JwtController {
+
+    private final String jwksJson;
+    private final JwtService jwtService;
+    private final UserService userService;
+
+    public JwtController(JWKSet jwkSet, JwtService jwtService, UserService userService) {
+        // The key set never changes at runtime, serialize it once
+        this.jwksJson = jwkSet.toJSONObject(true).toString();
+        this.jwtService = jwtService;
+        this.userService = userService;
+    }
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public String jwks() {
+        return jwksJson;
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+
+        // 1. Validate user credentials
+        return userService.authenticateUser(request).flatMap(authResponse -> {
+            if (authResponse.responseStatus() != 0) {
+                return Mono.just(respond(authResponse));
+            }
+
+            // 2. Generate tokens & return in case of error
+            String userId = authResponse.responseData().get("userId").toString();
+            return jwtService.createAccessToken(userId, Map.of("roles", authResponse.responseData().get("userRoles")))
+                    .zipWith(jwtService.createRefreshToken(userId))
+                    .map(tokens -> {
+                        AuthResponse accessTokenResponse = tokens.getT1();
+                        AuthResponse refreshTokenResponse = tokens.getT2();
+                        if (accessTokenResponse.responseStatus() != 0) {
+                            return respond(accessTokenResponse);
+                        }
+                        if (refreshTokenResponse.responseStatus() != 0) {
+                            return respond(refreshTokenResponse);
+                        }
+
+                        // 3. Build secure cookie
+                        String refreshToken = refreshTokenResponse.responseData().get("refreshToken").toString();
+                        return ResponseEntity.status(accessTokenResponse.statusCode())
+                                .header(HttpHeaders.SET_COOKIE, refreshCookie(refreshToken, jwtService.getRefreshTokenExpiry()).toString())
+                                .body(accessTokenResponse);
+                    });
+        });
+    }
+
+    @PostMapping("/refresh")
+    @SuppressWarnings("unchecked")
+    public Mono<ResponseEntity<AuthResponse>> refresh(
+            @CookieValue(name = "refreshToken", required = false) String refreshToken
+    ) {
+        if (refreshToken == null || refreshToken.isEmpty()) {
+            return Mono.just(respond(new AuthResponse(HttpStatus.BAD_REQUEST, new HashMap<>(), "Refresh Token Missing in Cookie", 1)));
+        }
+
+        return jwtService.validateRefreshToken(refreshToken).flatMap(tokenResponse -> {
+            //return if token parsing fails
+            if (tokenResponse.responseStatus() != 0) {
+                return Mono.just(respond(tokenResponse));
+            }
+
+            String userId = tokenResponse.responseData().get("userDetails").toString();
+
+            // Fetch roles again & return if it fails
+            return userService.getRoles(userId).flatMap(rolesResponse -> {
+                if (rolesResponse.responseStatus() != 0) {
+                    return Mono.just(respond(rolesResponse));
+                }
+                Set<String> roles = (Set<String>) rolesResponse.responseData().get("userRoles");
+
+                return jwtService.createAccessToken(userId, Map.of("roles", roles))
+                        .zipWith(jwtService.createRefreshToken(userId))
+                        .map(tokens -> {
+                            if (tokens.getT1().responseStatus() != 0) {
+                                return respond(tokens.getT1());
+                            }
+                            if (tokens.getT2().responseStatus() != 0) {
+                                return respond(tokens.getT2());
+                            }
+                            String newRefreshToken = tokens.getT2().responseData().get("refreshToken").toString();
+                            return ResponseEntity.status(HttpStatus.OK)
+                                    .header(HttpHeaders.SET_COOKIE, refreshCookie(newRefreshToken, jwtService.getRefreshTokenExpiry()).toString())
+                                    .body(tokens.getT1());
+                        });
+            });
+        });
+    }
+
+    @PostMapping("/signup")
+    public Mono<ResponseEntity<AuthResponse>> signUp(@Valid @RequestBody SignUpRequest request){
+        return userService.registerUser(request).map(this::respond);
+    }
+
+    // Unlike auth-service, the bearer access token is not revoked and stays valid until it expires
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<AuthResponse>> logout() {
+
+        AuthResponse response = new AuthResponse(
+                HttpStatus.OK,
+                new HashMap<>(),
+                "Logged out successfully",
+                0
+        );
+
+        return Mono.just(ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, refreshCookie("", 0).toString())
+                .body(response));
+    }
+
+    private ResponseEntity<AuthResponse> respond(AuthResponse response) {
+        return ResponseEntity.status(response.statusCode()).body(response);
+    }
+
+    private ResponseCookie refreshCookie(String value, long maxAge) {
+        return ResponseCookie.from("refreshToken", value)
+                .httpOnly(true)
+                .secure(true) //HTTPS only
+                .path("/auth/refresh")
+                .maxAge(maxAge)
+                .sameSite("Lax")
+                .build();
+    }
+
+}
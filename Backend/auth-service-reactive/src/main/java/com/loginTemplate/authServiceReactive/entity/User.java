@@ -0,0 +1,33 @@
+package com.loginTemplate.authServiceReactive.entity;
+
+import lombok.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+/*
+ * Same users / user_roles tables as auth-service. R2DBC has no element collections,
+ * so UserRepository maps rows (roles aggregated in SQL) into this class itself.
+ * */
+public class User {
+
+    private UUID id;
+
+    private String email;
+
+    private String username;
+
+    private String password;
+
+    @Builder.Default
+    private Set<String> roles = new HashSet<>();
+
+    @Builder.Default
+    private boolean enabled = true;
+}
@@ -0,0 +1,29 @@
+package com.loginTemplate.authServiceReactive.filters;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+public class GatewayHeaderFilter implements WebFilter {
+
+    private final String expected;
+
+    public GatewayHeaderFilter(String expected) {
+        this.expected = expected;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        String header = exchange.getRequest().getHeaders().getFirst("X-GATEWAY-SECRET");
+
+        if (header == null || !header.equals(expected)) {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+
+        return chain.filter(exchange);
+    }
+}
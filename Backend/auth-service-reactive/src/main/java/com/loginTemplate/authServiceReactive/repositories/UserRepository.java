@@ -0,0 +1,100 @@
+package com.loginTemplate.authServiceReactive.repositories;
+
+import com.loginTemplate.authServiceReactive.entity.User;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+/*
+ * Non-blocking counterpart of auth-service's UserRepository.
+ * Each lookup is a single round trip with roles aggregated into an array.
+ * */
+public class UserRepository {
+
+    private static final String SELECT_USER = """
+            SELECT u.id, u.email, u.username, u.password, u.enabled,
+                   COALESCE(array_agg(r.role) FILTER (WHERE r.role IS NOT NULL), '{}') AS roles
+            FROM users u
+            LEFT JOIN user_roles r ON r.user_id = u.id
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<User> findByEmailOrUsername(String email, String username) {
+        return databaseClient.sql(SELECT_USER + "WHERE u.email = :email OR u.username = :username GROUP BY u.id LIMIT 1")
+                .bind("email", email)
+                .bind("username", username)
+                .map(this::toUser)
+                .one();
+    }
+
+    public Mono<User> findById(UUID id) {
+        return databaseClient.sql(SELECT_USER + "WHERE u.id = :id GROUP BY u.id")
+                .bind("id", id)
+                .map(this::toUser)
+                .one();
+    }
+
+    public Mono<Boolean> existsByEmail(String email) {
+        return databaseClient.sql("SELECT 1 FROM users WHERE email = :email")
+                .bind("email", email)
+                .map(row -> true)
+                .first()
+                .hasElement();
+    }
+
+    public Mono<Boolean> existsByUsername(String username) {
+        return databaseClient.sql("SELECT 1 FROM users WHERE username = :username")
+                .bind("username", username)
+                .map(row -> true)
+                .first()
+                .hasElement();
+    }
+
+    //Callers are expected to run this inside a transaction (see UserService)
+    public Mono<User> save(User user) {
+        UUID id = user.getId() != null ? user.getId() : UUID.randomUUID();
+        Mono<Long> insertUser = databaseClient.sql(
+                        "INSERT INTO users (id, email, username, password, enabled) VALUES (:id, :email, :username, :password, :enabled)")
+                .bind("id", id)
+                .bind("email", user.getEmail())
+                .bind("username", user.getUsername())
+                .bind("password", user.getPassword())
+                .bind("enabled", user.isEnabled())
+                .fetch()
+                .rowsUpdated();
+
+        Flux<Long> insertRoles = Flux.fromIterable(user.getRoles())
+                .concatMap(role -> databaseClient.sql("INSERT INTO user_roles (user_id, role) VALUES (:id, :role)")
+                        .bind("id", id)
+                        .bind("role", role)
+                        .fetch()
+                        .rowsUpdated());
+
+        return insertUser.thenMany(insertRoles).then(Mono.fromSupplier(() -> {
+            user.setId(id);
+            return user;
+        }));
+    }
+
+    private User toUser(Readable row) {
+        String[] roles = row.get("roles", String[].class);
+        return User.builder()
+                .id(row.get("id", UUID.class))
+                .email(row.get("email", String.class))
+                .username(row.get("username", String.class))
+                .password(row.get("password", String.class))
+                .enabled(Boolean.TRUE.equals(row.get("enabled", Boolean.class)))
+                .roles(roles == null ? new HashSet<>() : new HashSet<>(Arrays.asList(roles)))
+                .build();
+    }
+}
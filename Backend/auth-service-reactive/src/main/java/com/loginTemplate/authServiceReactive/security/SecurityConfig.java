@@ -0,0 +1,51 @@
+package com.loginTemplate.authServiceReactive.security;
+
+import com.loginTemplate.authServiceReactive.filters.GatewayHeaderFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+import java.util.List;
+
+/*
+ * auth-service only permits its public auth endpoints behind the gateway secret,
+ * so plain WebFilters cover it here without the Spring Security WebFlux chain
+ * */
+@Configuration
+public class SecurityConfig {
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    //Remove this filter if you're running auth-service standalone
+    public GatewayHeaderFilter gatewayHeaderFilter() {
+        return new GatewayHeaderFilter("ASHEN-PHOENIX-INTERNAL-KEY-987654");
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public CorsWebFilter corsWebFilter() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        //Origins must be explicitly specified with URL when allowedOrigins is set to true
+        configuration.setAllowedOrigins(List.of("http://localhost:5173"));
+        configuration.setAllowedMethods(List.of(
+                "GET", "POST", "PUT", "DELETE", "OPTIONS"
+        ));
+        configuration.setAllowedHeaders(List.of("*"));
+        configuration.setAllowCredentials(true);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return new CorsWebFilter(source);
+    }
+
+}
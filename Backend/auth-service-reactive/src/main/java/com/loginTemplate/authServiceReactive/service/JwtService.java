@@ -0,0 +1,142 @@
+package com.loginTemplate.authServiceReactive.service;
+
+import com.loginTemplate.authServiceReactive.DTO.AuthResponse;
+import com.loginTemplate.authServiceReactive.config.JWTProperties;
+import com.loginTemplate.authServiceReactive.config.KeyLoader;
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.*;
+
+@Service
+/*
+ * Same tokens as auth-service's JwtService. Signing and verification run on the
+ * bounded crypto scheduler, callers get a Mono.
+ * */
+public class JwtService {
+
+    private final KeyLoader keyLoader;
+    private final JWTProperties properties;
+    private final Scheduler cryptoScheduler;
+
+    public JwtService(KeyLoader keyLoader, JWTProperties properties, @Qualifier("cryptoScheduler") Scheduler cryptoScheduler) {
+        this.keyLoader = keyLoader;
+        this.properties = properties;
+        this.cryptoScheduler = cryptoScheduler;
+    }
+
+    public Mono<AuthResponse> createAccessToken(String userId, Map<String, Object> additionalData) {
+        return Mono.fromCallable(() -> signAccessToken(userId, additionalData)).subscribeOn(cryptoScheduler);
+    }
+
+    public Mono<AuthResponse> createRefreshToken(String userId) {
+        return Mono.fromCallable(() -> signRefreshToken(userId)).subscribeOn(cryptoScheduler);
+    }
+
+    public Mono<AuthResponse> validateRefreshToken(String token) {
+        return Mono.fromCallable(() -> verifyRefreshToken(token)).subscribeOn(cryptoScheduler);
+    }
+
+    public Long getRefreshTokenExpiry(){
+        return properties.getExpiry().getRefresh();
+    }
+
+    private AuthResponse signAccessToken(String userId, Map<String, Object> additionalData) {
+        Instant now = Instant.now();
+        Instant expiry = now.plusSeconds(properties.getExpiry().getAccess());
+
+        try {
+            JWTClaimsSet.Builder claimsBuilder = new JWTClaimsSet.Builder()
+                    .subject(userId)
+                    .issuer(properties.getIssuer())
+                    .issueTime(Date.from(now))
+                    .expirationTime(Date.from(expiry))
+                    .jwtID(UUID.randomUUID().toString())
+                    .claim("type", "access");
+
+            if (additionalData != null) {
+                additionalData.forEach(claimsBuilder::claim);
+            }
+
+            SignedJWT signedJWT = sign(claimsBuilder.build());
+
+            Map<Object, Object> tokenDetails = new HashMap<>();
+            tokenDetails.put("accessToken", signedJWT.serialize());
+
+            return new AuthResponse(HttpStatus.OK, tokenDetails, "Access Token Successfully Created", 0);
+
+        } catch (JOSEException joseException) {
+            return new AuthResponse(HttpStatus.INTERNAL_SERVER_ERROR, new HashMap<>(), "Error Occured While Siging JWT Token " + joseException.getMessage(), 1);
+        }
+    }
+
+    private AuthResponse signRefreshToken(String userId) {
+        try {
+            Instant now = Instant.now();
+            Instant expiry = now.plusSeconds(properties.getExpiry().getRefresh());
+
+            JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                    .subject(userId)
+                    .issuer(properties.getIssuer())
+                    .issueTime(Date.from(now))
+                    .expirationTime(Date.from(expiry))
+                    .jwtID(UUID.randomUUID().toString())
+                    .claim("type", "refresh")
+                    .build();
+
+            return new AuthResponse(HttpStatus.OK, Map.of("refreshToken", sign(claims).serialize()), "Token Created", 0);
+
+        } catch (JOSEException e) {
+            return new AuthResponse(HttpStatus.INTERNAL_SERVER_ERROR, null, "Something went wrong " + e.getMessage(), 1);
+        }
+    }
+
+    private AuthResponse verifyRefreshToken(String token) {
+        try {
+            SignedJWT signedJWT = SignedJWT.parse(token);
+
+            if (!signedJWT.verify(new ECDSAVerifier(keyLoader.getPublicKey()))) {
+                return new AuthResponse(HttpStatus.BAD_REQUEST, null, "Invalid refresh token signature", 1);
+            }
+
+            JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+
+            Date expirationTime = claims.getExpirationTime();
+            if (expirationTime == null || expirationTime.before(new Date())) {
+                return new AuthResponse(HttpStatus.BAD_REQUEST, null, "Refresh token expired", 1);
+            }
+
+            if (!"refresh".equals(claims.getStringClaim("type"))) {
+                return new AuthResponse(HttpStatus.BAD_REQUEST, null, "Invalid token type", 1);
+            }
+
+            return new AuthResponse(HttpStatus.OK, Map.of("userDetails", claims.getSubject()), "Token parsed successfully", 0);
+
+        } catch (ParseException e) {
+            return new AuthResponse(HttpStatus.INTERNAL_SERVER_ERROR, null, "Unable to parse token" + e.getMessage(), 1);
+        } catch (JOSEException e) {
+            return new AuthResponse(HttpStatus.INTERNAL_SERVER_ERROR, null, "Something went wrong in token service " + e.getMessage(), 1);
+        }
+    }
+
+    private SignedJWT sign(JWTClaimsSet claims) throws JOSEException {
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.ES256)
+                .keyID(keyLoader.getCurrentKid())
+                .type(JOSEObjectType.JWT)
+                .build();
+
+        SignedJWT signedJWT = new SignedJWT(header, claims);
+        signedJWT.sign(new ECDSASigner(keyLoader.getPrivateKey()));
+        return signedJWT;
+    }
+}
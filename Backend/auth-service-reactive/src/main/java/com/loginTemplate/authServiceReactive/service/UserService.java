@@ -0,0 +1,108 @@
+package com.loginTemplate.authServiceReactive.service;
+
+import com.loginTemplate.authServiceReactive.DTO.AuthResponse;
+import com.loginTemplate.authServiceReactive.DTO.LoginRequest;
+import com.loginTemplate.authServiceReactive.DTO.SignUpRequest;
+import com.loginTemplate.authServiceReactive.entity.User;
+import com.loginTemplate.authServiceReactive.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+/*
+ * Reactive counterpart of auth-service's UserService, same responses and messages.
+ * Lookups go through R2DBC, BCrypt runs on the bounded password scheduler.
+ * */
+public class UserService {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionalOperator transactionalOperator;
+    private final Scheduler passwordScheduler;
+
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       TransactionalOperator transactionalOperator,
+                       @Qualifier("passwordScheduler") Scheduler passwordScheduler) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionalOperator = transactionalOperator;
+        this.passwordScheduler = passwordScheduler;
+    }
+
+    public Mono<AuthResponse> authenticateUser(LoginRequest request) {
+        return userRepository.findByEmailOrUsername(request.identifier(), request.identifier())
+                .flatMap(user -> {
+                    if (!user.isEnabled()) {
+                        return Mono.just(failure(HttpStatus.BAD_REQUEST, "User account is disabled"));
+                    }
+                    return Mono.fromCallable(() -> passwordEncoder.matches(request.password(), user.getPassword()))
+                            .subscribeOn(passwordScheduler)
+                            .map(matches -> matches
+                                    ? new AuthResponse(
+                                            HttpStatus.OK,
+                                            Map.of(
+                                                    "userId", user.getId().toString(),
+                                                    "userName", user.getUsername(),
+                                                    "userMail", user.getEmail(),
+                                                    "userRoles", user.getRoles()
+                                            ),
+                                            "Login successful",
+                                            0)
+                                    : failure(HttpStatus.BAD_REQUEST, "Invalid credentials"));
+                })
+                .defaultIfEmpty(failure(HttpStatus.BAD_REQUEST, "Invalid credentials"))
+                .onErrorResume(e -> Mono.just(failure(HttpStatus.INTERNAL_SERVER_ERROR, "Something went wrong: " + e.getMessage())));
+    }
+
+    public Mono<AuthResponse> getRoles(String userId) {
+        return Mono.fromCallable(() -> UUID.fromString(userId))
+                .flatMap(userRepository::findById)
+                .map(user -> user.isEnabled()
+                        ? new AuthResponse(HttpStatus.OK, Map.of("userRoles", user.getRoles()), "Roles Fetched", 0)
+                        : failure(HttpStatus.FORBIDDEN, "User account is disabled"))
+                .defaultIfEmpty(failure(HttpStatus.NOT_FOUND, "User not found"));
+    }
+
+    public Mono<AuthResponse> registerUser(SignUpRequest request) {
+        Mono<AuthResponse> register = userRepository.existsByEmail(request.email())
+                .flatMap(emailTaken -> {
+                    if (emailTaken) {
+                        return Mono.just(failure(HttpStatus.BAD_REQUEST, "Email Already In Use"));
+                    }
+                    return userRepository.existsByUsername(request.userName()).flatMap(usernameTaken -> {
+                        if (usernameTaken) {
+                            return Mono.just(failure(HttpStatus.BAD_REQUEST, "Username Already Taken"));
+                        }
+                        return Mono.fromCallable(() -> passwordEncoder.encode(request.password()))
+                                .subscribeOn(passwordScheduler)
+                                // Only the inserts hold a connection, BCrypt runs before the transaction starts
+                                .flatMap(hash -> transactionalOperator.transactional(userRepository.save(User.builder()
+                                        .email(request.email())
+                                        .username(request.userName())
+                                        .password(hash)
+                                        .roles(Set.of("ROLE_USER"))
+                                        .enabled(true)
+                                        .build())))
+                                .map(user -> new AuthResponse(HttpStatus.CREATED,
+                                        Map.of("userName", user.getUsername(), "userMail", user.getEmail(), "userRoles", user.getRoles()),
+                                        "Created User : " + user.getUsername(), 0));
+                    });
+                });
+
+        return register
+                .onErrorResume(e -> Mono.just(failure(HttpStatus.INTERNAL_SERVER_ERROR, "Something Went Wrong " + e.getMessage())));
+    }
+
+    private AuthResponse failure(HttpStatus status, String message) {
+        return new AuthResponse(status, null, message, 1);
+    }
+}
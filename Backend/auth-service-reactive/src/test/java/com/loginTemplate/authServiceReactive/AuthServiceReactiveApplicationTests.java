@@ -0,0 +1,14 @@
+package com.loginTemplate.authServiceReactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// No database here, schema.sql would connect on startup
+@SpringBootTest(properties = "spring.sql.init.mode=never")
+class AuthServiceReactiveApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
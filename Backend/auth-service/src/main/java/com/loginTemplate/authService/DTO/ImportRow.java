@@ -0,0 +1,8 @@
+package com.loginTemplate.authService.DTO;
+
+import java.util.Set;
+
+/*
+ * One user read from a bulk import file. password may be plain text or an existing bcrypt hash.
+ * */
+public record ImportRow(long lineNumber, String email, String userName, String password, Set<String> roles) {}
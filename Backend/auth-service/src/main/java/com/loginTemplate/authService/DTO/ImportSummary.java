@@ -0,0 +1,3 @@
+package com.loginTemplate.authService.DTO;
+
+public record ImportSummary(long processed, long imported, long rejected, long resumedAfterLine, long durationMillis) {}
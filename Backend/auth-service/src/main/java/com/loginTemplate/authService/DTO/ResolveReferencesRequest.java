@@ -0,0 +1,10 @@
+package com.loginTemplate.authService.DTO;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record ResolveReferencesRequest(
+        @NotNull(message = "tokens is required")
+        List<String> tokens
+) {}
@@ -0,0 +1,39 @@
+package com.loginTemplate.authService.admin;
+
+import com.loginTemplate.authService.DTO.AuthResponse;
+import com.loginTemplate.authService.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/*
+ * Admin operations on user accounts (ROLE_ADMIN, see SecurityConfig):
+ *   POST /actuator/users/{userId} {"enabled": false}   disable a user on every node and revoke their tokens
+ *   POST /actuator/users/{userId} {"enabled": true}    enable it again
+ * */
+@Component
+@WebEndpoint(id = "users")
+@RequiredArgsConstructor
+public class UserAdminEndpoint {
+
+    private final UserService userService;
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> setEnabled(@Selector String userId, boolean enabled) {
+        AuthResponse response;
+        try {
+            response = userService.setUserEnabled(userId, enabled);
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(Map.of("message", "Invalid user id"), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        Map<String, Object> body = response.responseStatus() == 0
+                ? Map.of("userId", userId, "enabled", enabled)
+                : Map.of("message", response.responseMessage());
+        return new WebEndpointResponse<>(body, response.statusCode().value());
+    }
+}
@@ -0,0 +1,17 @@
+package com.loginTemplate.authService.audit;
+
+public enum AuditEventType {
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    REFRESH_SUCCESS,
+    REFRESH_FAILURE,
+    SIGNUP_SUCCESS,
+    SIGNUP_FAILURE,
+    LOGOUT;
+
+    private static final AuditEventType[] VALUES = values();
+
+    public static AuditEventType fromCode(int code) {
+        return code >= 0 && code < VALUES.length ? VALUES[code] : null;
+    }
+}
@@ -0,0 +1,128 @@
+package com.loginTemplate.authService.audit;
+
+import com.loginTemplate.authService.config.AuditProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+/*
+ * Audit trail of auth events. Request threads only publish into AuditRingBuffer,
+ * a single daemon thread drains it into memory-mapped segments (AuditSegmentWriter).
+ * Segments are converted to JSON with AuditSegmentExporter.
+ * */
+public class AuditLog {
+
+    private static final int DRAIN_BATCH = 1024;
+
+    private final AuditProperties properties;
+
+    private AuditRingBuffer ringBuffer;
+    private AuditSegmentWriter segmentWriter;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        ringBuffer = new AuditRingBuffer(properties.getBufferSize(),
+                properties.getOverflowPolicy() == AuditProperties.OverflowPolicy.BLOCK,
+                TimeUnit.MILLISECONDS.toNanos(properties.getBlockTimeoutMillis()));
+        segmentWriter = new AuditSegmentWriter(Path.of(properties.getDirectory()),
+                properties.getSegmentBytes(), properties.getMaxSegments());
+
+        running = true;
+        writerThread = new Thread(this::writeLoop, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public void record(AuditEventType type, int status, String userId) {
+        if (ringBuffer == null) {
+            return;
+        }
+        long msb = 0;
+        long lsb = 0;
+        if (userId != null) {
+            try {
+                UUID subject = UUID.fromString(userId);
+                msb = subject.getMostSignificantBits();
+                lsb = subject.getLeastSignificantBits();
+            } catch (IllegalArgumentException ignored) {
+                // not a user id, the event is still recorded without subject
+            }
+        }
+        ringBuffer.publish(System.currentTimeMillis(), AuditRecord.meta(type, status), msb, lsb, 0);
+    }
+
+    public void recordForIdentifier(AuditEventType type, int status, String identifier) {
+        if (ringBuffer == null) {
+            return;
+        }
+        ringBuffer.publish(System.currentTimeMillis(), AuditRecord.meta(type, status), 0, 0,
+                AuditRecord.hashIdentifier(identifier));
+    }
+
+    public long getDroppedEvents() {
+        return ringBuffer == null ? 0 : ringBuffer.getDropped();
+    }
+
+    private void writeLoop() {
+        long[] batch = new long[DRAIN_BATCH * AuditRecord.LONGS];
+        long lastFlush = System.currentTimeMillis();
+        long reportedDrops = 0;
+
+        while (true) {
+            int count = ringBuffer.drainTo(batch, DRAIN_BATCH);
+            try {
+                for (int i = 0; i < count; i++) {
+                    segmentWriter.append(batch, i * AuditRecord.LONGS);
+                }
+
+                long now = System.currentTimeMillis();
+                if (now - lastFlush >= properties.getFlushIntervalMillis()) {
+                    segmentWriter.flush();
+                    lastFlush = now;
+                    long drops = ringBuffer.getDropped();
+                    if (drops > reportedDrops) {
+                        log.warn("Audit buffer full, {} events dropped so far", drops);
+                        reportedDrops = drops;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // Keep draining, a writer that dies here would leave the ring full for good
+                log.error("Unable to write audit events, {} events lost", count, e);
+            }
+
+            if (count == 0) {
+                if (!running) {
+                    break;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+        segmentWriter.close();
+    }
+}
@@ -0,0 +1,40 @@
+package com.loginTemplate.authService.audit;
+
+import java.util.UUID;
+
+/*
+ * Binary layout of one audit event, both in the ring buffer and in segment files:
+ *
+ *   long timestamp (epoch millis)
+ *   long meta      (event type code << 32 | HTTP status)
+ *   long subject   most significant bits of the user id, 0 when unknown
+ *   long subject   least significant bits of the user id, 0 when unknown
+ *   long identifierHash  FNV-1a hash of the login identifier, 0 when not applicable
+ * */
+public record AuditRecord(long timestamp, AuditEventType type, int status, UUID subject, long identifierHash) {
+
+    public static final int LONGS = 5;
+    public static final int BYTES = LONGS * Long.BYTES;
+
+    public static long meta(AuditEventType type, int status) {
+        return ((long) type.ordinal() << 32) | (status & 0xFFFFFFFFL);
+    }
+
+    public static AuditRecord decode(long timestamp, long meta, long msb, long lsb, long identifierHash) {
+        UUID subject = msb == 0 && lsb == 0 ? null : new UUID(msb, lsb);
+        return new AuditRecord(timestamp, AuditEventType.fromCode((int) (meta >>> 32)), (int) meta, subject, identifierHash);
+    }
+
+    // Failed logins are correlated by identifier without storing the raw username/email
+    public static long hashIdentifier(String identifier) {
+        if (identifier == null) {
+            return 0;
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < identifier.length(); i++) {
+            hash ^= identifier.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,122 @@
+package com.loginTemplate.authService.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Multi-producer, single-consumer ring of fixed-size audit events.
+ *
+ * Slots are preallocated as a flat long[] so publishing never allocates: a producer claims
+ * a sequence with one CAS, writes its slot and marks it available with a release store.
+ * The single writer thread is the only consumer.
+ *
+ * In blocking mode a producer waits for a free slot before claiming it, spinning briefly and
+ * then parking with back-off. If the writer has not freed one within blockTimeoutNanos the
+ * event is dropped, so a dead or stopped writer cannot hang request threads.
+ * */
+public class AuditRingBuffer {
+
+    static final int LONGS_PER_EVENT = AuditRecord.LONGS;
+
+    private static final int SPINS = 64;
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    private final int mask;
+    private final long[] slots;
+    private final AtomicLongArray available;
+    private final AtomicLong producerSequence = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final boolean blockWhenFull;
+    private final long blockTimeoutNanos;
+
+    private volatile long consumerSequence = 0;
+
+    public AuditRingBuffer(int requestedCapacity, boolean blockWhenFull, long blockTimeoutNanos) {
+        int capacity = requestedCapacity <= 2 ? 2 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new long[capacity * LONGS_PER_EVENT];
+        this.available = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            available.set(i, -1);
+        }
+        this.blockWhenFull = blockWhenFull;
+        this.blockTimeoutNanos = blockTimeoutNanos;
+    }
+
+    public boolean publish(long timestamp, long meta, long subjectMsb, long subjectLsb, long identifierHash) {
+        long sequence = claim();
+        if (sequence < 0) {
+            dropped.increment();
+            return false;
+        }
+        int base = (int) (sequence & mask) * LONGS_PER_EVENT;
+        slots[base] = timestamp;
+        slots[base + 1] = meta;
+        slots[base + 2] = subjectMsb;
+        slots[base + 3] = subjectLsb;
+        slots[base + 4] = identifierHash;
+        available.lazySet((int) (sequence & mask), sequence);
+        return true;
+    }
+
+    /*
+     * Copies up to max published events into target (LONGS_PER_EVENT longs each) and
+     * frees their slots. Only the writer thread may call this.
+     * */
+    public int drainTo(long[] target, int max) {
+        long next = consumerSequence;
+        int count = 0;
+        while (count < max && available.get((int) (next & mask)) == next) {
+            System.arraycopy(slots, (int) (next & mask) * LONGS_PER_EVENT, target, count * LONGS_PER_EVENT, LONGS_PER_EVENT);
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            consumerSequence = next;
+        }
+        return count;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    private long claim() {
+        int capacity = mask + 1;
+        long deadline = 0;
+        long parkNanos = 1_000;
+        int spins = 0;
+        while (true) {
+            long sequence = producerSequence.get();
+            if (sequence - consumerSequence < capacity) {
+                // Only claimed once there is room, a producer that gives up leaves no gap behind
+                if (producerSequence.compareAndSet(sequence, sequence + 1)) {
+                    return sequence;
+                }
+                continue;
+            }
+            if (!blockWhenFull) {
+                return -1;
+            }
+            if (spins < SPINS) {
+                spins++;
+                Thread.onSpinWait();
+                continue;
+            }
+            long now = System.nanoTime();
+            if (deadline == 0) {
+                deadline = now + blockTimeoutNanos;
+            } else if (now - deadline >= 0) {
+                return -1;
+            }
+            LockSupport.parkNanos(parkNanos);
+            parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.loginTemplate.authService.audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/*
+ * Appends audit records to memory-mapped, fixed-size segment files and rolls to a new
+ * segment when the current one is full. Segments are named audit-<first event millis>-<n>.seg,
+ * so lexical order is write order, and the oldest are deleted beyond maxSegments.
+ *
+ * Segment layout: 16 byte header (magic, version, record size, reserved) followed by records.
+ * The file is zero-filled by the OS, so the first record with timestamp 0 marks the end.
+ * Used only from the writer thread.
+ * */
+public class AuditSegmentWriter implements AutoCloseable {
+
+    public static final int MAGIC = 0x41554431; // "AUD1"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+    public static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int maxSegments;
+
+    private MappedByteBuffer current;
+    private int segmentCounter = 0;
+
+    public AuditSegmentWriter(Path directory, long segmentBytes, int maxSegments) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = Math.max(HEADER_BYTES + AuditRecord.BYTES, segmentBytes);
+        this.maxSegments = maxSegments;
+        Files.createDirectories(directory);
+    }
+
+    public void append(long[] events, int offset) throws IOException {
+        if (current == null || current.remaining() < AuditRecord.BYTES) {
+            roll(events[offset]);
+        }
+        for (int i = 0; i < AuditRecord.LONGS; i++) {
+            current.putLong(events[offset + i]);
+        }
+    }
+
+    public void flush() {
+        if (current != null) {
+            current.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        current = null;
+    }
+
+    private void roll(long firstTimestamp) throws IOException {
+        flush();
+        Path segment = directory.resolve(String.format("audit-%013d-%06d%s", firstTimestamp, segmentCounter++ % 1_000_000, SUFFIX));
+        try (FileChannel channel = FileChannel.open(segment,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long usable = HEADER_BYTES + (segmentBytes - HEADER_BYTES) / AuditRecord.BYTES * AuditRecord.BYTES;
+            // The mapping stays valid after the channel is closed
+            current = channel.map(FileChannel.MapMode.READ_WRITE, 0, usable);
+        }
+        current.putInt(MAGIC).putInt(VERSION).putInt(AuditRecord.BYTES).putInt(0);
+        deleteOldSegments();
+    }
+
+    private void deleteOldSegments() throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+}
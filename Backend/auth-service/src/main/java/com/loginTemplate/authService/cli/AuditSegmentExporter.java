@@ -0,0 +1,94 @@
+package com.loginTemplate.authService.cli;
+
+import com.loginTemplate.authService.audit.AuditRecord;
+import com.loginTemplate.authService.audit.AuditSegmentWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/*
+ * Converts audit segments to JSON lines on stdout, oldest first. Takes segment files or
+ * directories of segments:
+ *
+ *   java -cp auth-service.jar -Dloader.main=com.loginTemplate.authService.cli.AuditSegmentExporter \
+ *        org.springframework.boot.loader.launch.PropertiesLauncher ./audit
+ * */
+public class AuditSegmentExporter {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: AuditSegmentExporter <segment file or directory>...");
+            System.exit(2);
+        }
+
+        List<Path> segments = new ArrayList<>();
+        for (String arg : args) {
+            Path path = Path.of(arg);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.list(path)) {
+                    files.filter(p -> p.getFileName().toString().endsWith(AuditSegmentWriter.SUFFIX))
+                            .sorted()
+                            .forEach(segments::add);
+                }
+            } else {
+                segments.add(path);
+            }
+        }
+
+        BufferedWriter out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        for (Path segment : segments) {
+            export(segment, out);
+        }
+        out.flush();
+    }
+
+    public static void export(Path segment, BufferedWriter out) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < AuditSegmentWriter.HEADER_BYTES
+                    || buffer.getInt() != AuditSegmentWriter.MAGIC
+                    || buffer.getInt() != AuditSegmentWriter.VERSION
+                    || buffer.getInt() != AuditRecord.BYTES) {
+                System.err.println("Skipping " + segment + ": not an audit segment");
+                return;
+            }
+            buffer.getInt();
+
+            while (buffer.remaining() >= AuditRecord.BYTES) {
+                long timestamp = buffer.getLong();
+                if (timestamp == 0) {
+                    break; // unwritten tail of the segment
+                }
+                AuditRecord record = AuditRecord.decode(timestamp, buffer.getLong(), buffer.getLong(),
+                        buffer.getLong(), buffer.getLong());
+                out.write(toJson(record));
+                out.newLine();
+            }
+        }
+    }
+
+    private static String toJson(AuditRecord record) {
+        StringBuilder json = new StringBuilder(160)
+                .append("{\"timestamp\":\"").append(Instant.ofEpochMilli(record.timestamp())).append('"')
+                .append(",\"type\":\"").append(record.type()).append('"')
+                .append(",\"status\":").append(record.status());
+        if (record.subject() != null) {
+            json.append(",\"userId\":\"").append(record.subject()).append('"');
+        }
+        if (record.identifierHash() != 0) {
+            json.append(",\"identifierHash\":\"").append(Long.toHexString(record.identifierHash())).append('"');
+        }
+        return json.append('}').toString();
+    }
+}
@@ -0,0 +1,51 @@
+package com.loginTemplate.authService.cli;
+
+import com.loginTemplate.authService.config.UserImportProperties;
+import com.loginTemplate.authService.service.UserImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/*
+ * Runs a bulk user import on startup instead of calling /auth/signup per user:
+ *
+ *   java -jar auth-service.jar --auth.import.file=/data/users.csv
+ *
+ * Re-running the same command after a crash resumes from <file>.checkpoint.
+ * */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "auth.import", name = "file")
+public class UserImportRunner implements ApplicationRunner {
+
+    private final UserImportService userImportService;
+    private final UserImportProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        int exitCode = 0;
+        try {
+            userImportService.importFile(Path.of(properties.getFile()));
+        } catch (Exception e) {
+            exitCode = 1;
+            log.error("User import failed, re-run to resume from the last checkpoint", e);
+            if (!properties.isExitOnCompletion()) {
+                throw e;
+            }
+        }
+
+        if (properties.isExitOnCompletion()) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+}
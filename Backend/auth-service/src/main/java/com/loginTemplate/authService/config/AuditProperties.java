@@ -0,0 +1,33 @@
+package com.loginTemplate.authService.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+ * Binds auth.audit.* used by the auth event audit log (see AuditLog)
+ * */
+@Component
+@ConfigurationProperties(prefix = "auth.audit")
+@Getter
+@Setter
+public class AuditProperties {
+    private boolean enabled = true;
+    private String directory = "./audit";
+    // Ring buffer slots, rounded up to a power of two
+    private int bufferSize = 65536;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    // BLOCK only: how long a request thread waits for a free slot before dropping the event
+    private long blockTimeoutMillis = 100;
+    private long segmentBytes = 64L * 1024 * 1024;
+    private int maxSegments = 32;
+    private long flushIntervalMillis = 1000;
+
+    public enum OverflowPolicy {
+        // Request threads never wait, events are counted as dropped
+        DROP,
+        // Request threads wait for the writer to free a slot, up to blockTimeoutMillis
+        BLOCK
+    }
+}
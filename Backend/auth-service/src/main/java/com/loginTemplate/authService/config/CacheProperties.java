@@ -0,0 +1,33 @@
+package com.loginTemplate.authService.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+ * Binds auth.cache.* for in-process caches and their cluster-wide invalidation (see InvalidationBus)
+ * */
+@Component
+@ConfigurationProperties(prefix = "auth.cache")
+@Getter
+@Setter
+public class CacheProperties {
+    private long userTtlSeconds = 300;
+    private int maxUsers = 100_000;
+    private Invalidation invalidation = new Invalidation();
+
+    @Getter
+    @Setter
+    public static class Invalidation {
+        private boolean enabled = true;
+        private String channel = "auth_invalidation";
+        private long pollTimeoutMillis = 500;
+        private long reconnectBackoffMillis = 1000;
+        // How long invalidations are kept in auth_invalidation_log for catch-up after a reconnect
+        private long retentionMinutes = 60;
+        // Ids below the highest one seen that are replayed again after a reconnect, since
+        // BIGSERIAL ids are handed out before commit and a lower id can become visible later
+        private long replayWindow = 1000;
+    }
+}
@@ -0,0 +1,32 @@
+package com.loginTemplate.authService.config;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * Accepts HTTP/2 over cleartext on the plain connector, both prior knowledge (what the gateway uses)
+ * and HTTP/1.1 Upgrade. HTTP/1.1 clients keep working on the same port.
+ * server.http2.enabled is left alone, it only covers TLS (h2) connectors.
+ * */
+@Configuration
+@ConditionalOnProperty(prefix = "auth.http2", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class Http2Config implements WebServerFactoryCustomizer<TomcatServletWebServerFactory> {
+
+    private final Http2Properties http2Properties;
+
+    @Override
+    public void customize(TomcatServletWebServerFactory factory) {
+        factory.addConnectorCustomizers(connector -> {
+            Http2Protocol h2c = new Http2Protocol();
+            h2c.setMaxConcurrentStreams(http2Properties.getMaxConcurrentStreams());
+            h2c.setMaxConcurrentStreamExecution(http2Properties.getMaxConcurrentStreamExecution());
+            h2c.setKeepAliveTimeout(http2Properties.getKeepAliveTimeoutMillis());
+            connector.addUpgradeProtocol(h2c);
+        });
+    }
+}
@@ -0,0 +1,23 @@
+package com.loginTemplate.authService.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+ * Binds auth.http2.* used by Http2Config (cleartext HTTP/2 for the gateway hop)
+ * */
+@Component
+@ConfigurationProperties(prefix = "auth.http2")
+@Getter
+@Setter
+public class Http2Properties {
+    private boolean enabled = false;
+    // Streams one gateway connection may have open at once, keep >= gateway.upstream.h2c.max-concurrent-streams
+    private long maxConcurrentStreams = 256;
+    // Streams of one connection executed in parallel on the Tomcat worker pool
+    private int maxConcurrentStreamExecution = 64;
+    // Idle h2c connections are kept open this long so the gateway can reuse them
+    private long keepAliveTimeoutMillis = 60_000;
+}
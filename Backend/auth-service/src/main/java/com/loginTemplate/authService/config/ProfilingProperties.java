@@ -0,0 +1,35 @@
+package com.loginTemplate.authService.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+ * Binds auth.profiling.* used by the JFR endpoint (JfrRecordingEndpoint) and ContinuousRecording
+ * */
+@Component
+@ConfigurationProperties(prefix = "auth.profiling")
+@Getter
+@Setter
+public class ProfilingProperties {
+    private int defaultRecordingSeconds = 30;
+    // Upper bound for POST /actuator/jfr {"seconds": ...}
+    private int maxRecordingSeconds = 120;
+    // JDK settings file for on-demand recordings: "profile" (more detail) or "default" (~1% overhead)
+    private String settings = "profile";
+    private Continuous continuous = new Continuous();
+
+    @Getter
+    @Setter
+    public static class Continuous {
+        private boolean enabled = false;
+        private String settings = "default";
+        private long maxAgeMinutes = 30;
+        private long maxSizeMb = 256;
+        // Auth events faster than this are not recorded, keeps token and repository events cheap
+        private long thresholdMillis = 1;
+        // Written when the JVM exits, empty to keep the data only in the repository
+        private String dumpOnExit = "./jfr/auth-continuous.jfr";
+    }
+}
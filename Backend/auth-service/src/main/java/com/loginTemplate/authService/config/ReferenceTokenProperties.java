@@ -0,0 +1,21 @@
+package com.loginTemplate.authService.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+ * Binds auth.reference-tokens.* used by ReferenceTokenService (opaque access tokens for clients)
+ * */
+@Component
+@ConfigurationProperties(prefix = "auth.reference-tokens")
+@Getter
+@Setter
+public class ReferenceTokenProperties {
+    // Clients receive "rt_..." references, the gateway swaps them for the JWT (gateway.reference-tokens.enabled)
+    private boolean enabled = false;
+    // Upper bound for one resolve call from a gateway
+    private int maxBatchSize = 256;
+    private long pruneIntervalSeconds = 60;
+}
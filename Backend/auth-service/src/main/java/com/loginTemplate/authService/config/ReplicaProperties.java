@@ -0,0 +1,35 @@
+package com.loginTemplate.authService.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Binds auth.datasource.* for read replica routing (see ReplicaRoutingDataSourceConfig).
+ * With no replicas configured the single spring.datasource is used as before.
+ * */
+@Component
+@ConfigurationProperties(prefix = "auth.datasource")
+@Getter
+@Setter
+public class ReplicaProperties {
+    private List<Replica> replicas = new ArrayList<>();
+    // Replicas further behind the primary than this are skipped until they catch up
+    private long maxLagBytes = 16L * 1024 * 1024;
+    private long healthCheckIntervalMillis = 2000;
+    // Reads for an identity written on any node go to the primary for this long
+    private long readYourWritesSeconds = 10;
+    private int replicaPoolSize = 10;
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,77 @@
+package com.loginTemplate.authService.config;
+
+import com.loginTemplate.authService.datasource.ReplicaHealthChecker;
+import com.loginTemplate.authService.datasource.ReplicaPools;
+import com.loginTemplate.authService.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Replaces the auto-configured DataSource when auth.datasource.replicas is set:
+ * read-only transactions (@Transactional(readOnly = true) in UserService) are routed to
+ * replicas, writes and everything else to the primary spring.datasource.
+ * */
+@Configuration
+@ConditionalOnProperty(prefix = "auth.datasource", name = "replicas[0].url")
+public class ReplicaRoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaPools replicaPools(ReplicaProperties properties, DataSourceProperties dataSourceProperties) {
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReplicaProperties.Replica replica = properties.getReplicas().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername());
+            pool.setPassword(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword());
+            pool.setMaximumPoolSize(properties.getReplicaPoolSize());
+            pool.setReadOnly(true);
+            // An unreachable replica must not fail startup, the health checker keeps it out of rotation
+            pool.setInitializationFailTimeout(-1);
+            pools.put(pool.getPoolName(), pool);
+        }
+        return new ReplicaPools(pools);
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(HikariDataSource primaryDataSource, ReplicaPools replicaPools,
+                                                     ReplicaProperties properties) {
+        return new ReplicaHealthChecker(primaryDataSource, new HashMap<>(replicaPools.pools()),
+                properties.getMaxLagBytes(), properties.getHealthCheckIntervalMillis());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPools replicaPools,
+                                 ReplicaHealthChecker replicaHealthChecker) {
+        Map<Object, Object> targets = new HashMap<>(replicaPools.pools());
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicaHealthChecker);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
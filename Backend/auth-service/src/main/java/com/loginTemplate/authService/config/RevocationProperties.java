@@ -0,0 +1,24 @@
+package com.loginTemplate.authService.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+ * Binds auth.revocation.* used by RevocationStore and the gateway feed (/internal/revocations)
+ * */
+@Component
+@ConfigurationProperties(prefix = "auth.revocation")
+@Getter
+@Setter
+public class RevocationProperties {
+    // Deltas kept for reconnecting gateways, older cursors get a full snapshot instead
+    private int deltaLogSize = 10_000;
+    // SSE comment sent to idle subscribers so dead connections are noticed
+    private long heartbeatSeconds = 15;
+    // Updates queued for one gateway, a gateway that falls further behind is disconnected
+    private int subscriberQueueSize = 1000;
+    // Expired revocations are removed from memory and auth_revocation at this interval
+    private long pruneIntervalSeconds = 60;
+}
@@ -0,0 +1,23 @@
+package com.loginTemplate.authService.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+ * Binds auth.import.* used by the bulk user import (see UserImportRunner)
+ * */
+@Component
+@ConfigurationProperties(prefix = "auth.import")
+@Getter
+@Setter
+public class UserImportProperties {
+    // CSV (email,userName,password[,roles]) or NDJSON file, import only runs when set
+    private String file;
+    private int batchSize = 500;
+    // 0 means one hashing thread per available core
+    private int hashThreads = 0;
+    private String defaultRole = "ROLE_USER";
+    private boolean exitOnCompletion = true;
+}
@@ -0,0 +1,26 @@
+package com.loginTemplate.authService.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+ * Binds auth.warmup.* used by the startup JIT warm-up (see WarmupRunner)
+ * */
+@Component
+@ConfigurationProperties(prefix = "auth.warmup")
+@Getter
+@Setter
+public class WarmupProperties {
+    private boolean enabled = true;
+    // Readiness is granted after this even if compilation has not settled
+    private long timeBudgetSeconds = 60;
+    private int minRounds = 5;
+    // Consecutive rounds with less JIT time than settleCompilationMillis before warm-up ends
+    private int settleRounds = 3;
+    private long settleCompilationMillis = 10;
+    private int tokenIterations = 200;
+    private int passwordIterations = 2;
+    private int queryIterations = 20;
+}
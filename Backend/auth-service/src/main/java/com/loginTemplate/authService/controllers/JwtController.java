@@ -3,6 +3,10 @@ package com.loginTemplate.authService.controllers;
 import com.loginTemplate.authService.DTO.AuthResponse;
 import com.loginTemplate.authService.DTO.LoginRequest;
 import com.loginTemplate.authService.DTO.SignUpRequest;
+import com.loginTemplate.authService.audit.AuditEventType;
+import com.loginTemplate.authService.audit.AuditLog;
+import com.loginTemplate.authService.revocation.RevocationStore;
+import com.loginTemplate.authService.service.ReferenceTokenService;
 import com.loginTemplate.authService.service.JwtService;
 import com.loginTemplate.authService.service.UserService;
 import com.nimbusds.jose.JOSEException;
@@ -11,6 +15,7 @@ import jakarta.validation.Valid;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 
+import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -22,11 +27,18 @@ public class JwtController {
     private final JWKSet jwkSet;
     private final JwtService jwtService;
     private final UserService userService;
+    private final AuditLog auditLog;
+    private final RevocationStore revocationStore;
+    private final ReferenceTokenService referenceTokenService;
 
-    public JwtController(JWKSet jwkSet,JwtService jwtService, UserService userService) {
+    public JwtController(JWKSet jwkSet,JwtService jwtService, UserService userService, AuditLog auditLog,
+                         RevocationStore revocationStore, ReferenceTokenService referenceTokenService) {
         this.jwkSet = jwkSet;
         this.jwtService = jwtService;
         this.userService = userService;
+        this.auditLog = auditLog;
+        this.revocationStore = revocationStore;
+        this.referenceTokenService = referenceTokenService;
     }
 
     @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -42,6 +54,7 @@ public class JwtController {
             AuthResponse authResponse = userService.authenticateUser(request);
 
             if (authResponse.responseStatus() == 1) {
+                auditLog.recordForIdentifier(AuditEventType.LOGIN_FAILURE, authResponse.statusCode().value(), request.identifier());
                 return ResponseEntity
                         .status(authResponse.statusCode())
                         .body(authResponse);
@@ -50,13 +63,15 @@ public class JwtController {
             // 2. Generate tokens & return in case of error
                 //Access Token
                 AuthResponse accessTokenCreationResponse = jwtService.createAccessToken(authResponse.responseData().get("userId").toString(),Map.of("roles", authResponse.responseData().get("userRoles")));
-                if(accessTokenCreationResponse.responseStatus() == 1){
+                if(accessTokenCreationResponse.responseStatus() != 0){
+                    auditLog.recordForIdentifier(AuditEventType.LOGIN_FAILURE, accessTokenCreationResponse.statusCode().value(), request.identifier());
                     return ResponseEntity.status(accessTokenCreationResponse.statusCode()).body(accessTokenCreationResponse);
                 }
 
                 //Refresh Token
-                AuthResponse refreshTokenResponse = jwtService.createRefreshToken(request.identifier());
+                AuthResponse refreshTokenResponse = jwtService.createRefreshToken(authResponse.responseData().get("userId").toString());
                 if(refreshTokenResponse.responseStatus() == 1){
+                    auditLog.recordForIdentifier(AuditEventType.LOGIN_FAILURE, refreshTokenResponse.statusCode().value(), request.identifier());
                     return ResponseEntity.status(refreshTokenResponse.statusCode()).body(refreshTokenResponse);
                 }
                 String refreshToken = refreshTokenResponse.responseData().get("refreshToken").toString();
@@ -71,11 +86,12 @@ public class JwtController {
                     .sameSite("Lax")
                     .build();
 
+            auditLog.record(AuditEventType.LOGIN_SUCCESS, accessTokenCreationResponse.statusCode().value(), authResponse.responseData().get("userId").toString());
             return ResponseEntity.status(accessTokenCreationResponse.statusCode())
                     .header(HttpHeaders.SET_COOKIE, refreshCookie.toString())
-                    .body(accessTokenCreationResponse);
+                    .body(toClientToken(accessTokenCreationResponse));
 
-        } catch (JOSEException e) {
+        } catch (JOSEException | ParseException e) {
             AuthResponse exceptionResponse = new AuthResponse(HttpStatus.INTERNAL_SERVER_ERROR,new HashMap<>(),"Something went wrong "+e.getMessage(),1);
             return ResponseEntity.status(exceptionResponse.responseStatus()).body(exceptionResponse);
         }
@@ -89,6 +105,7 @@ public class JwtController {
 
             if (refreshToken == null || refreshToken.isEmpty()) {
                 AuthResponse exceptionResponse = new AuthResponse(HttpStatus.BAD_REQUEST,new HashMap<>(),"Refresh Token Missing in Cookie",1);
+                auditLog.record(AuditEventType.REFRESH_FAILURE, exceptionResponse.statusCode().value(), null);
                 return ResponseEntity.status(exceptionResponse.statusCode()).body(exceptionResponse);
             }
 
@@ -96,6 +113,7 @@ public class JwtController {
 
             //return if token parsing fails
             if(refreshTokenServiceResponse.responseStatus() == 1){
+                auditLog.record(AuditEventType.REFRESH_FAILURE, refreshTokenServiceResponse.statusCode().value(), null);
                 return ResponseEntity.status(refreshTokenServiceResponse.statusCode()).body(refreshTokenServiceResponse);
             }
 
@@ -104,6 +122,7 @@ public class JwtController {
             // Fetch roles again & return if it fails
             AuthResponse userServiceRolesResponse = userService.getRoles(userId);
             if(userServiceRolesResponse.responseStatus() == 1){
+                auditLog.record(AuditEventType.REFRESH_FAILURE, userServiceRolesResponse.statusCode().value(), userId);
                 return ResponseEntity.status(userServiceRolesResponse.statusCode()).body(userServiceRolesResponse);
             }
             Set<String> roles = (Set<String>) userServiceRolesResponse.responseData().get("userRoles");
@@ -111,13 +130,15 @@ public class JwtController {
 
             //Create access token & return if it fails
             AuthResponse newAccessToken = jwtService.createAccessToken(userId, Map.of("roles", roles));
-            if(newAccessToken.responseStatus() == 1){
+            if(newAccessToken.responseStatus() != 0){
+                auditLog.record(AuditEventType.REFRESH_FAILURE, newAccessToken.statusCode().value(), userId);
                 return ResponseEntity.status(newAccessToken.statusCode()).body(newAccessToken);
             }
 
             //Create refresh token & return if it fails
             AuthResponse createRefreshTokenResponse = jwtService.createRefreshToken(userId);
             if(createRefreshTokenResponse.responseStatus() == 1){
+                auditLog.record(AuditEventType.REFRESH_FAILURE, createRefreshTokenResponse.statusCode().value(), userId);
                 return ResponseEntity.status(createRefreshTokenResponse.statusCode()).body(createRefreshTokenResponse);
             }
 
@@ -130,9 +151,10 @@ public class JwtController {
                     .sameSite("Lax")
                     .build();
 
+            auditLog.record(AuditEventType.REFRESH_SUCCESS, HttpStatus.OK.value(), userId);
             return ResponseEntity.status(HttpStatus.OK)
                     .header(HttpHeaders.SET_COOKIE, refreshCookie.toString())
-                    .body(newAccessToken);
+                    .body(toClientToken(newAccessToken));
 
         }
         catch (JOSEException e) {
@@ -146,11 +168,26 @@ public class JwtController {
     @PostMapping("/signup")
     public ResponseEntity<AuthResponse> signUp(@Valid @RequestBody SignUpRequest request){
         AuthResponse response = userService.registerUser(request);
+        auditLog.recordForIdentifier(response.responseStatus() == 0 ? AuditEventType.SIGNUP_SUCCESS : AuditEventType.SIGNUP_FAILURE,
+                response.statusCode().value(), request.email());
         return ResponseEntity.status(response.statusCode()).body(response);
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<AuthResponse> logout() {
+    public ResponseEntity<AuthResponse> logout(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization
+    ) {
+
+        // Kill the current access token too instead of letting it live out its 15 minutes
+        String userId = null;
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            AuthResponse accessToken = jwtService.validateAccessToken(authorization.substring(7));
+            if (accessToken.responseStatus() == 0) {
+                userId = accessToken.responseData().get("userId").toString();
+                revocationStore.revokeToken(accessToken.responseData().get("jti").toString(),
+                        (Long) accessToken.responseData().get("expiresAt"));
+            }
+        }
 
         ResponseCookie deleteCookie = ResponseCookie.from("refreshToken", "")
                 .httpOnly(true)
@@ -167,9 +204,21 @@ public class JwtController {
                 0
         );
 
+        auditLog.record(AuditEventType.LOGOUT, HttpStatus.OK.value(), userId);
         return ResponseEntity.ok()
                 .header(HttpHeaders.SET_COOKIE, deleteCookie.toString())
                 .body(response);
     }
 
+    // In reference-token mode the client gets an opaque "rt_..." reference, the JWT stays in the backend
+    private AuthResponse toClientToken(AuthResponse accessToken) throws ParseException {
+        if (!referenceTokenService.isEnabled()) {
+            return accessToken;
+        }
+        Map<Object, Object> data = new HashMap<>(accessToken.responseData());
+        data.put("accessToken", referenceTokenService.issue(accessToken.responseData().get("accessToken").toString()));
+        data.put("tokenType", "reference");
+        return new AuthResponse(accessToken.statusCode(), data, accessToken.responseMessage(), accessToken.responseStatus());
+    }
+
 }
@@ -0,0 +1,48 @@
+package com.loginTemplate.authService.controllers;
+
+import com.loginTemplate.authService.DTO.AuthResponse;
+import com.loginTemplate.authService.DTO.ResolveReferencesRequest;
+import com.loginTemplate.authService.config.ReferenceTokenProperties;
+import com.loginTemplate.authService.service.ReferenceTokenService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Batched reference -> JWT lookup for api-gateway cache misses.
+ * Not routed by the gateway (outside /auth), callers still need X-GATEWAY-SECRET.
+ * */
+@RestController
+public class ReferenceTokenController {
+
+    private final ReferenceTokenService referenceTokenService;
+    private final ReferenceTokenProperties properties;
+
+    public ReferenceTokenController(ReferenceTokenService referenceTokenService, ReferenceTokenProperties properties) {
+        this.referenceTokenService = referenceTokenService;
+        this.properties = properties;
+    }
+
+    @PostMapping("/internal/reference-tokens/resolve")
+    public ResponseEntity<AuthResponse> resolve(@Valid @RequestBody ResolveReferencesRequest request) {
+
+        if (!referenceTokenService.isEnabled()) {
+            AuthResponse response = new AuthResponse(HttpStatus.NOT_FOUND, new HashMap<>(), "Reference tokens are disabled", 1);
+            return ResponseEntity.status(response.statusCode()).body(response);
+        }
+        if (request.tokens().size() > properties.getMaxBatchSize()) {
+            AuthResponse response = new AuthResponse(HttpStatus.BAD_REQUEST, new HashMap<>(),
+                    "At most " + properties.getMaxBatchSize() + " tokens per call", 1);
+            return ResponseEntity.status(response.statusCode()).body(response);
+        }
+
+        Map<String, ReferenceTokenService.Resolved> resolved = referenceTokenService.resolve(request.tokens());
+        return ResponseEntity.ok(new AuthResponse(HttpStatus.OK, Map.of("tokens", resolved), "Resolved " + resolved.size(), 0));
+    }
+}
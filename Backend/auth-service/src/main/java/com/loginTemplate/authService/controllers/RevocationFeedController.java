@@ -0,0 +1,52 @@
+package com.loginTemplate.authService.controllers;
+
+import com.loginTemplate.authService.revocation.RevocationStore;
+import com.loginTemplate.authService.revocation.RevocationSubscriber;
+import com.loginTemplate.authService.revocation.RevocationUpdate;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/*
+ * Server-sent event stream of token revocations for api-gateway instances.
+ * Not routed by the gateway (outside /auth), callers still need X-GATEWAY-SECRET.
+ * */
+@RestController
+public class RevocationFeedController {
+
+    private final RevocationStore revocationStore;
+
+    public RevocationFeedController(RevocationStore revocationStore) {
+        this.revocationStore = revocationStore;
+    }
+
+    @GetMapping(value = "/internal/revocations", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter revocations(@RequestParam(required = false) String since) {
+        // No timeout: the stream lives as long as the gateway, heartbeats detect dead peers
+        SseEmitter emitter = new SseEmitter(0L);
+        RevocationSubscriber subscriber = new RevocationSubscriber() {
+            @Override
+            public void send(RevocationUpdate update) throws IOException {
+                emitter.send(SseEmitter.event().name(update.event()).data(update.encode()));
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("ping"));
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        };
+        emitter.onCompletion(() -> revocationStore.unsubscribe(subscriber));
+        emitter.onError(e -> revocationStore.unsubscribe(subscriber));
+        revocationStore.subscribe(since, subscriber);
+        return emitter;
+    }
+}
@@ -0,0 +1,87 @@
+package com.loginTemplate.authService.datasource;
+
+import com.loginTemplate.authService.config.ReplicaProperties;
+import com.loginTemplate.authService.invalidation.InvalidationBus;
+import com.loginTemplate.authService.invalidation.InvalidationKind;
+import com.loginTemplate.authService.invalidation.InvalidationListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+/*
+ * Read-your-writes for replica routing: identities (email, username) written on any node
+ * are read from the primary until readYourWritesSeconds have passed, so a login right after
+ * signup never misses a user that has not replicated yet, even when it lands on another node.
+ *
+ * The writing node marks the identity right away and publishes it as a WRITE invalidation,
+ * which the other nodes receive when the transaction commits. If markers may have been
+ * missed (onReset), every identity counts as recent for one window.
+ * */
+public class RecentWrites implements InvalidationListener {
+
+    private static final int MAX_ENTRIES = 100_000;
+
+    private final ReplicaProperties properties;
+    private final InvalidationBus invalidationBus;
+    private final Map<String, Long> writtenUntil = new ConcurrentHashMap<>();
+    private volatile long allRecentUntil = 0;
+
+    public void record(String... keys) {
+        if (properties.getReplicas().isEmpty()) {
+            // Every read already goes to the primary
+            return;
+        }
+        for (String key : keys) {
+            if (key != null) {
+                mark(key);
+                invalidationBus.publish(InvalidationKind.WRITE, key);
+            }
+        }
+    }
+
+    public boolean isRecent(String key) {
+        if (key == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (allRecentUntil >= now) {
+            return true;
+        }
+        if (writtenUntil.isEmpty()) {
+            return false;
+        }
+        Long until = writtenUntil.get(key);
+        if (until == null) {
+            return false;
+        }
+        if (until < now) {
+            writtenUntil.remove(key, until);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void onInvalidation(InvalidationKind kind, String key) {
+        if (kind == InvalidationKind.WRITE) {
+            mark(key);
+        }
+    }
+
+    @Override
+    public void onReset() {
+        allRecentUntil = System.currentTimeMillis() + properties.getReadYourWritesSeconds() * 1000;
+    }
+
+    private void mark(String key) {
+        long now = System.currentTimeMillis();
+        if (writtenUntil.size() >= MAX_ENTRIES) {
+            writtenUntil.values().removeIf(expiry -> expiry < now);
+        }
+        writtenUntil.put(key, now + properties.getReadYourWritesSeconds() * 1000);
+    }
+}
@@ -0,0 +1,99 @@
+package com.loginTemplate.authService.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Periodically checks every replica and publishes the list of usable ones.
+ * A replica is usable when it answers and its replay position is within maxLagBytes of
+ * the primary's current WAL position. A stand-in database that is not in recovery
+ * (e.g. a second local Postgres) counts as zero lag. A standby that has not replayed
+ * anything yet reports no position and is not usable.
+ * */
+@Slf4j
+public class ReplicaHealthChecker implements AutoCloseable {
+
+    private static final String REPLICA_LAG = """
+            SELECT CASE WHEN pg_is_in_recovery()
+                        THEN pg_wal_lsn_diff(?::pg_lsn, pg_last_wal_replay_lsn())
+                        ELSE 0 END""";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final long maxLagBytes;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile List<String> healthy = List.of();
+
+    public ReplicaHealthChecker(DataSource primary, Map<String, DataSource> replicas, long maxLagBytes, long intervalMillis) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLagBytes = maxLagBytes;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public List<String> healthyReplicas() {
+        return healthy;
+    }
+
+    void check() {
+        String primaryLsn;
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT pg_current_wal_lsn()::text")) {
+            rs.next();
+            primaryLsn = rs.getString(1);
+        } catch (Exception e) {
+            // Without the primary position lag cannot be judged, keep the last verdict
+            log.warn("Replica health check could not read primary WAL position: {}", e.getMessage());
+            return;
+        }
+
+        List<String> usable = new ArrayList<>();
+        replicas.forEach((name, dataSource) -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(REPLICA_LAG)) {
+                statement.setString(1, primaryLsn);
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    long lag = rs.getLong(1);
+                    if (rs.wasNull()) {
+                        if (healthy.contains(name)) {
+                            log.warn("Replica {} reports no replay position, routing its reads to the primary", name);
+                        }
+                    } else if (lag <= maxLagBytes) {
+                        usable.add(name);
+                    } else if (healthy.contains(name)) {
+                        log.warn("Replica {} is {} bytes behind, routing its reads to the primary", name, lag);
+                    }
+                }
+            } catch (Exception e) {
+                if (healthy.contains(name)) {
+                    log.warn("Replica {} is unreachable, routing its reads to the primary: {}", name, e.getMessage());
+                }
+            }
+        });
+        healthy = List.copyOf(usable);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,16 @@
+package com.loginTemplate.authService.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.Map;
+
+/*
+ * Owns the replica connection pools so they are closed with the application context
+ * */
+public record ReplicaPools(Map<String, HikariDataSource> pools) implements AutoCloseable {
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
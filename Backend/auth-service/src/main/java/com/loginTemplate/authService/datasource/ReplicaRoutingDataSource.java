@@ -0,0 +1,37 @@
+package com.loginTemplate.authService.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Sends read-only transactions to a healthy replica (round robin) and everything else to
+ * the primary. Falls back to the primary when no replica is healthy or within lag.
+ * Wrapped in a LazyConnectionDataSourceProxy so the lookup happens at the first statement,
+ * after the transaction's read-only flag is known.
+ * */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaHealthChecker healthChecker;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(ReplicaHealthChecker healthChecker) {
+        this.healthChecker = healthChecker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || RoutingContext.isPrimaryForced()) {
+            return PRIMARY;
+        }
+        List<String> healthy = healthChecker.healthyReplicas();
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+    }
+}
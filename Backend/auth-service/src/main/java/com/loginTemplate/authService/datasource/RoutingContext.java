@@ -0,0 +1,32 @@
+package com.loginTemplate.authService.datasource;
+
+/*
+ * Per-thread override that sends the next connection to the primary even inside a
+ * read-only transaction. Must be set before the first query of the transaction.
+ *
+ * Scopes nest: read isPrimaryForced() on entry and hand it to restore() on exit, so an
+ * inner call does not drop the override of the caller around it.
+ * */
+public final class RoutingContext {
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private RoutingContext() {
+    }
+
+    public static void forcePrimary() {
+        FORCE_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryForced() {
+        return FORCE_PRIMARY.get() != null;
+    }
+
+    public static void restore(boolean primaryForced) {
+        if (primaryForced) {
+            FORCE_PRIMARY.set(Boolean.TRUE);
+        } else {
+            FORCE_PRIMARY.remove();
+        }
+    }
+}
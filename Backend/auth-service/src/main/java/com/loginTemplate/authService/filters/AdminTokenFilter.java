@@ -0,0 +1,54 @@
+package com.loginTemplate.authService.filters;
+
+import com.loginTemplate.authService.DTO.AuthResponse;
+import com.loginTemplate.authService.service.JwtService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/*
+ * Authenticates operational endpoints (/actuator/**) with an access token issued by this service,
+ * roles become authorities so SecurityConfig can require ROLE_ADMIN.
+ * Missing or invalid tokens leave the request anonymous and Spring Security rejects it.
+ * */
+public class AdminTokenFilter extends OncePerRequestFilter {
+
+    private final JwtService jwtService;
+
+    public AdminTokenFilter(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String header = request.getHeader("Authorization");
+
+        if (header != null && header.startsWith("Bearer ")) {
+            AuthResponse token = jwtService.validateAccessToken(header.substring(7));
+            if (token.responseStatus() == 0) {
+                Collection<?> roles = (Collection<?>) token.responseData().get("userRoles");
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        token.responseData().get("userId"), null,
+                        roles.stream().map(role -> new SimpleGrantedAuthority(role.toString())).toList());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
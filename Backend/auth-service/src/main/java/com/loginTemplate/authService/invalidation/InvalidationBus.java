@@ -0,0 +1,227 @@
+package com.loginTemplate.authService.invalidation;
+
+import com.loginTemplate.authService.config.CacheProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+/*
+ * Cluster-wide cache invalidation over Postgres LISTEN/NOTIFY, no extra broker.
+ *
+ * publish() appends to auth_invalidation_log and notifies in the same statement, so
+ * invalidations inside a transaction are only delivered on commit. Every node (including
+ * the publisher) receives "<log id>:<kind code>:<key>" on a dedicated connection and
+ * hands it to all InvalidationListener beans.
+ *
+ * After a reconnect the log is replayed from replayWindow ids below the highest id seen:
+ * ids are assigned before commit, so a lower one may only have become visible while this node
+ * was disconnected. Ids already applied are skipped. If the missed range has been pruned, or
+ * the log is empty and nothing can be verified, listeners are reset instead.
+ * */
+public class InvalidationBus {
+
+    private static final String CREATE_LOG = """
+            CREATE TABLE IF NOT EXISTS auth_invalidation_log (
+                id BIGSERIAL PRIMARY KEY,
+                kind CHAR(1) NOT NULL,
+                item_key VARCHAR(255) NOT NULL,
+                created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+            )""";
+
+    private static final String PUBLISH = """
+            WITH e AS (INSERT INTO auth_invalidation_log (kind, item_key) VALUES (?, ?) RETURNING id, kind, item_key)
+            SELECT pg_notify(?, e.id || ':' || e.kind || ':' || e.item_key) FROM e""";
+
+    private final CacheProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<InvalidationListener> listeners;
+
+    private Thread listenerThread;
+    private volatile boolean running;
+    private long lastSeenId = -1;
+    // Ids applied within the replay window, only touched by the listener thread
+    private final NavigableSet<Long> appliedIds = new TreeSet<>();
+    private long lastPrune = 0;
+
+    @PostConstruct
+    void start() {
+        if (!properties.getInvalidation().isEnabled()) {
+            return;
+        }
+        jdbcTemplate.execute(CREATE_LOG);
+
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            listenerThread.join(TimeUnit.SECONDS.toMillis(2));
+        }
+    }
+
+    public void publish(InvalidationKind kind, String key) {
+        if (!properties.getInvalidation().isEnabled()) {
+            // Single node: apply locally right away
+            dispatch(kind, key);
+            return;
+        }
+        jdbcTemplate.query(PUBLISH, rs -> {}, String.valueOf(kind.code()), key, properties.getInvalidation().getChannel());
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = openConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getInvalidation().getChannel());
+                }
+                catchUp(connection);
+
+                while (running) {
+                    PGNotification[] notifications =
+                            pgConnection.getNotifications((int) properties.getInvalidation().getPollTimeoutMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                    pruneIfDue(connection);
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Invalidation listener disconnected, reconnecting: {}", e.getMessage());
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+    }
+
+    void catchUp(Connection connection) throws SQLException {
+        if (lastSeenId < 0) {
+            // First connect: caches are empty, nothing to replay
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM auth_invalidation_log")) {
+                rs.next();
+                lastSeenId = rs.getLong(1);
+            }
+            return;
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT MIN(id) FROM auth_invalidation_log")) {
+            rs.next();
+            long oldest = rs.getLong(1);
+            if (rs.wasNull() || oldest > lastSeenId + 1) {
+                log.warn("Invalidations after id {} may have been pruned while disconnected, resetting caches", lastSeenId);
+                listeners.orderedStream().forEach(InvalidationListener::onReset);
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id, kind, item_key FROM auth_invalidation_log WHERE id > ? ORDER BY id")) {
+            statement.setLong(1, lastSeenId - properties.getInvalidation().getReplayWindow());
+            try (ResultSet rs = statement.executeQuery()) {
+                int replayed = 0;
+                while (rs.next()) {
+                    if (apply(rs.getLong(1), rs.getString(2).charAt(0), rs.getString(3))) {
+                        replayed++;
+                    }
+                }
+                if (replayed > 0) {
+                    log.info("Replayed {} invalidations after reconnect", replayed);
+                }
+            }
+        }
+    }
+
+    void apply(String payload) {
+        int first = payload.indexOf(':');
+        if (first < 0 || payload.length() < first + 3) {
+            log.warn("Ignoring malformed invalidation {}", payload);
+            return;
+        }
+        apply(Long.parseLong(payload, 0, first, 10), payload.charAt(first + 1), payload.substring(first + 3));
+    }
+
+    private boolean apply(long id, char code, String key) {
+        if (!appliedIds.add(id)) {
+            // Already applied, e.g. notified and then replayed again
+            return false;
+        }
+        InvalidationKind kind = InvalidationKind.fromCode(code);
+        if (kind != null) {
+            dispatch(kind, key);
+        }
+        if (id > lastSeenId) {
+            lastSeenId = id;
+            appliedIds.headSet(lastSeenId - properties.getInvalidation().getReplayWindow(), true).clear();
+        }
+        return true;
+    }
+
+    private void dispatch(InvalidationKind kind, String key) {
+        List<InvalidationListener> targets = listeners.orderedStream().toList();
+        for (InvalidationListener listener : targets) {
+            try {
+                listener.onInvalidation(kind, key);
+            } catch (RuntimeException e) {
+                log.error("Invalidation listener {} failed", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private void pruneIfDue(Connection connection) throws SQLException {
+        long now = System.currentTimeMillis();
+        if (now - lastPrune < TimeUnit.MINUTES.toMillis(1)) {
+            return;
+        }
+        lastPrune = now;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "DELETE FROM auth_invalidation_log WHERE created_at < now() - make_interval(mins => ?)")) {
+            statement.setInt(1, (int) properties.getInvalidation().getRetentionMinutes());
+            statement.executeUpdate();
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(properties.getInvalidation().getReconnectBackoffMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.loginTemplate.authService.invalidation;
+
+public enum InvalidationKind {
+    // key is a user id, cached user state (roles, enabled) must be reloaded
+    USER('U'),
+    // key is "<jti>:<expiresAt>", one access token revoked until it expires (see RevocationStore)
+    TOKEN('T'),
+    // key is "<userId>:<notBefore>:<expiresAt>", the user's tokens issued before notBefore are revoked
+    USER_TOKENS('N'),
+    // key is an email or username just written, its reads go to the primary for a while (see RecentWrites)
+    WRITE('W');
+
+    private final char code;
+
+    InvalidationKind(char code) {
+        this.code = code;
+    }
+
+    public char code() {
+        return code;
+    }
+
+    public static InvalidationKind fromCode(char code) {
+        for (InvalidationKind kind : values()) {
+            if (kind.code == code) {
+                return kind;
+            }
+        }
+        return null;
+    }
+}
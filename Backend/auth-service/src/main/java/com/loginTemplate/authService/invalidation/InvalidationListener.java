@@ -0,0 +1,13 @@
+package com.loginTemplate.authService.invalidation;
+
+/*
+ * Implemented by in-process caches that must stay consistent across auth-service nodes.
+ * Callbacks run on the invalidation listener thread and must not block.
+ * */
+public interface InvalidationListener {
+
+    void onInvalidation(InvalidationKind kind, String key);
+
+    // Invalidations may have been missed (e.g. a reconnect after the catch-up window), drop everything
+    void onReset();
+}
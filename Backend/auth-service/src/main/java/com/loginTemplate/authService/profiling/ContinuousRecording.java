@@ -0,0 +1,66 @@
+package com.loginTemplate.authService.profiling;
+
+import com.loginTemplate.authService.config.ProfilingProperties;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/*
+ * Always-on flight recording, enabled by the "jfr" profile (application-jfr.yml).
+ * Keeps the last maxAgeMinutes / maxSizeMb on disk so a latency spike can be dumped after the fact
+ * with `jcmd <pid> JFR.dump name=auth-continuous`, and writes it to dumpOnExit on shutdown.
+ * */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "auth.profiling.continuous", name = "enabled", havingValue = "true")
+public class ContinuousRecording implements InitializingBean, DisposableBean {
+
+    public static final String NAME = "auth-continuous";
+
+    private static final List<Class<? extends Event>> AUTH_EVENTS =
+            List.of(PasswordEvent.class, TokenEvent.class, RepositoryEvent.class);
+
+    private final ProfilingProperties properties;
+    private Recording recording;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        ProfilingProperties.Continuous continuous = properties.getContinuous();
+
+        recording = new Recording(Configuration.getConfiguration(continuous.getSettings()));
+        recording.setName(NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofMinutes(continuous.getMaxAgeMinutes()));
+        recording.setMaxSize(continuous.getMaxSizeMb() * 1024 * 1024);
+        for (Class<? extends Event> type : AUTH_EVENTS) {
+            recording.enable(type).withThreshold(Duration.ofMillis(continuous.getThresholdMillis()));
+        }
+        if (!continuous.getDumpOnExit().isBlank()) {
+            Path destination = Path.of(continuous.getDumpOnExit()).toAbsolutePath();
+            Files.createDirectories(destination.getParent());
+            recording.setDestination(destination);
+        }
+        recording.start();
+        log.info("Continuous JFR recording '{}' started ({} settings, {} min / {} MB)",
+                NAME, continuous.getSettings(), continuous.getMaxAgeMinutes(), continuous.getMaxSizeMb());
+    }
+
+    @Override
+    public void destroy() {
+        // stop() writes the recording to its destination when one is set
+        recording.stop();
+        recording.close();
+    }
+}
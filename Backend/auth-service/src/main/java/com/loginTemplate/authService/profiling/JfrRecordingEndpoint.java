@@ -0,0 +1,170 @@
+package com.loginTemplate.authService.profiling;
+
+import com.loginTemplate.authService.config.ProfilingProperties;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * On-demand recordings without holding a request thread:
+ *   POST /actuator/jfr {"seconds": 30, "settings": "profile"}   starts one, JFR stops it on its own (202)
+ *   GET  /actuator/jfr                                           202 while recording, then the .jfr once
+ * Admin only (see SecurityConfig). One recording at a time, a concurrent start gets 429.
+ *
+ * The temp file is deleted once it has been streamed, when the next recording starts, on
+ * shutdown, and as a last resort on JVM exit.
+ * */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrRecordingEndpoint {
+
+    private static final Set<String> JDK_SETTINGS = Set.of("default", "profile");
+
+    private final ProfilingProperties properties;
+
+    // Guarded by this
+    private Recording recording;
+    private Path file;
+    private Path delivered;
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Integer seconds, @Nullable String settings) {
+        int duration = seconds != null ? seconds : properties.getDefaultRecordingSeconds();
+        String jfc = settings != null ? settings : properties.getSettings();
+        if (duration < 1 || duration > properties.getMaxRecordingSeconds() || !JDK_SETTINGS.contains(jfc)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (recording != null && isRunning(recording)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+        discard();
+
+        Path target = null;
+        Recording jfr = null;
+        try {
+            target = Files.createTempFile("auth-", ".jfr");
+            target.toFile().deleteOnExit();
+            jfr = new Recording(Configuration.getConfiguration(jfc));
+            jfr.setName("auth-on-demand");
+            jfr.setToDisk(true);
+            jfr.enable(PasswordEvent.class);
+            jfr.enable(TokenEvent.class);
+            jfr.enable(RepositoryEvent.class);
+            // JFR stops the recording after the duration and writes it to the destination itself
+            jfr.setDestination(target);
+            jfr.setDuration(Duration.ofSeconds(duration));
+            jfr.start();
+        } catch (ParseException | IOException | RuntimeException e) {
+            log.warn("On-demand JFR recording failed to start: {}", e.getMessage());
+            if (jfr != null) {
+                jfr.close();
+            }
+            deleteQuietly(target);
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        }
+
+        recording = jfr;
+        file = target;
+        log.info("On-demand JFR recording started for {}s", duration);
+        return new WebEndpointResponse<>(Map.of("state", "recording", "seconds", duration), HttpStatus.ACCEPTED.value());
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> fetch() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (isRunning(recording)) {
+            return new WebEndpointResponse<>(HttpStatus.ACCEPTED.value());
+        }
+
+        // Handed out once: the stream deletes the file when it is closed
+        recording.close();
+        recording = null;
+        delivered = file;
+        file = null;
+        return new WebEndpointResponse<>(new DeleteOnCloseResource(delivered), WebEndpointResponse.STATUS_OK);
+    }
+
+    @PreDestroy
+    synchronized void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        deleteQuietly(file);
+        deleteQuietly(delivered);
+        file = null;
+        delivered = null;
+    }
+
+    private static boolean isRunning(Recording recording) {
+        RecordingState state = recording.getState();
+        return state == RecordingState.NEW || state == RecordingState.DELAYED || state == RecordingState.RUNNING;
+    }
+
+    private static void deleteQuietly(@Nullable Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", path, e.getMessage());
+        }
+    }
+
+    /*
+     * Temp file that is removed once the response body has been written.
+     * isFile() is false so the file is streamed rather than handed out as a path.
+     * */
+    private static final class DeleteOnCloseResource extends FileSystemResource {
+
+        DeleteOnCloseResource(Path path) {
+            super(path);
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+    }
+}
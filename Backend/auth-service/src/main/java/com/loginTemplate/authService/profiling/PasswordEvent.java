@@ -0,0 +1,24 @@
+package com.loginTemplate.authService.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+ * One BCrypt hash or verification, emitted by ProfiledPasswordEncoder
+ * */
+@Name("com.loginTemplate.auth.Password")
+@Label("Password Hashing")
+@Category({"Login Template", "Auth"})
+@Description("BCrypt encode or verify")
+public class PasswordEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Outcome")
+    @Description("match, mismatch, encoded or error")
+    String outcome;
+}
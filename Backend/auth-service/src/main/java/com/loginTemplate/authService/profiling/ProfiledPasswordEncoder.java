@@ -0,0 +1,57 @@
+package com.loginTemplate.authService.profiling;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/*
+ * Delegating encoder that wraps every BCrypt call in a PasswordEvent.
+ * With no recording running isEnabled() is false and this costs a field read.
+ * */
+public class ProfiledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    public ProfiledPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        PasswordEvent event = new PasswordEvent();
+        if (!event.isEnabled()) {
+            return delegate.encode(rawPassword);
+        }
+        event.operation = "encode";
+        event.outcome = "error";
+        event.begin();
+        try {
+            String encoded = delegate.encode(rawPassword);
+            event.outcome = "encoded";
+            return encoded;
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordEvent event = new PasswordEvent();
+        if (!event.isEnabled()) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        event.operation = "verify";
+        event.outcome = "error";
+        event.begin();
+        try {
+            boolean matches = delegate.matches(rawPassword, encodedPassword);
+            event.outcome = matches ? "match" : "mismatch";
+            return matches;
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,14 @@
+package com.loginTemplate.authService.profiling;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ProfilingConfig {
+
+    // static: post-processors are created before the rest of the context
+    @Bean
+    public static RepositoryEventsPostProcessor repositoryEventsPostProcessor() {
+        return new RepositoryEventsPostProcessor();
+    }
+}
@@ -0,0 +1,25 @@
+package com.loginTemplate.authService.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+ * One repository method call including connection checkout and the SQL round trip,
+ * emitted by RepositoryEventsPostProcessor
+ * */
+@Name("com.loginTemplate.auth.Repository")
+@Label("Repository Call")
+@Category({"Login Template", "Database"})
+public class RepositoryEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Outcome")
+    String outcome;
+}
@@ -0,0 +1,43 @@
+package com.loginTemplate.authService.profiling;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/*
+ * Adds a RepositoryEvent around every call on Spring Data repositories (UserRepository).
+ * Hooks in through the repository factory, so the advice sits inside Spring Data's own proxy
+ * and the recorded duration covers the query plus connection checkout.
+ * */
+public class RepositoryEventsPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, information) ->
+                            proxyFactory.addAdvice(recordCalls(information.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private static MethodInterceptor recordCalls(String repository) {
+        return invocation -> {
+            RepositoryEvent event = new RepositoryEvent();
+            if (!event.isEnabled()) {
+                return invocation.proceed();
+            }
+            event.repository = repository;
+            event.method = invocation.getMethod().getName();
+            event.outcome = "error";
+            event.begin();
+            try {
+                Object result = invocation.proceed();
+                event.outcome = "ok";
+                return result;
+            } finally {
+                event.commit();
+            }
+        };
+    }
+}
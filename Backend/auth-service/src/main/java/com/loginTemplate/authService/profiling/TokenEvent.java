@@ -0,0 +1,28 @@
+package com.loginTemplate.authService.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+ * One ES256 signature or signature check, emitted by JwtService
+ * */
+@Name("com.loginTemplate.auth.Token")
+@Label("Token Signing")
+@Category({"Login Template", "Auth"})
+@Description("JWT signing or verification")
+public class TokenEvent extends Event {
+
+    @Label("Operation")
+    @Description("sign or verify")
+    public String operation;
+
+    @Label("Token Type")
+    public String tokenType;
+
+    @Label("Outcome")
+    @Description("ok, invalid or error")
+    public String outcome;
+}
@@ -17,4 +17,7 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByUsername(String username);
 
     Optional<User> findByEmailOrUsername(String email, String username);
+
+    // Any active user, the JIT warm-up drives the found-user paths with it
+    Optional<User> findFirstByEnabledTrue();
 }
@@ -0,0 +1,46 @@
+package com.loginTemplate.authService.revocation;
+
+import com.loginTemplate.authService.config.JWTProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+
+/*
+ * Admin operations on the revocation set (ROLE_ADMIN, see SecurityConfig):
+ *   GET  /actuator/revocations                     current size
+ *   POST /actuator/revocations {"userId": "..."}   revoke all tokens of a user
+ *   POST /actuator/revocations {"jti": "..."}      revoke one token
+ * */
+@Component
+@Endpoint(id = "revocations")
+@RequiredArgsConstructor
+public class RevocationEndpoint {
+
+    private final RevocationStore revocationStore;
+    private final JWTProperties jwtProperties;
+
+    @ReadOperation
+    public Map<String, Integer> summary() {
+        return Map.of("revokedTokens", revocationStore.revokedTokens(), "revokedUsers", revocationStore.revokedUsers());
+    }
+
+    @WriteOperation
+    public Map<String, String> revoke(@Nullable String userId, @Nullable String jti) {
+        if (userId != null) {
+            revocationStore.revokeUser(userId);
+            return Map.of("revoked", "user", "userId", userId);
+        }
+        if (jti != null) {
+            // The token's exp is unknown here, no access token outlives a full access lifetime from now
+            revocationStore.revokeToken(jti, Instant.now().getEpochSecond() + jwtProperties.getExpiry().getAccess());
+            return Map.of("revoked", "token", "jti", jti);
+        }
+        return Map.of("revoked", "nothing");
+    }
+}
@@ -0,0 +1,33 @@
+package com.loginTemplate.authService.revocation;
+
+/*
+ * One revocation as it is kept in memory and sent to gateways. Times are epoch seconds.
+ *
+ * Wire format, one entry per line:
+ *   J <jti> <expiresAt>                 single access token
+ *   U <userId> <notBefore> <expiresAt>  every token of the user with iat <= notBefore
+ * */
+public record RevocationEntry(char type, String key, long notBefore, long expiresAt) {
+
+    public static final char TOKEN = 'J';
+    public static final char USER = 'U';
+
+    public static RevocationEntry token(String jti, long expiresAt) {
+        return new RevocationEntry(TOKEN, jti, 0, expiresAt);
+    }
+
+    public static RevocationEntry user(String userId, long notBefore, long expiresAt) {
+        return new RevocationEntry(USER, userId, notBefore, expiresAt);
+    }
+
+    // Keeps the stronger of two revocations for the same key
+    public RevocationEntry merge(RevocationEntry other) {
+        return new RevocationEntry(type, key, Math.max(notBefore, other.notBefore), Math.max(expiresAt, other.expiresAt));
+    }
+
+    public String encode() {
+        return type == TOKEN
+                ? TOKEN + " " + key + " " + expiresAt
+                : USER + " " + key + " " + notBefore + " " + expiresAt;
+    }
+}
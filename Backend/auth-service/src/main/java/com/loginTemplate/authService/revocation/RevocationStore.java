@@ -0,0 +1,269 @@
+package com.loginTemplate.authService.revocation;
+
+import com.loginTemplate.authService.config.JWTProperties;
+import com.loginTemplate.authService.config.RevocationProperties;
+import com.loginTemplate.authService.invalidation.InvalidationBus;
+import com.loginTemplate.authService.invalidation.InvalidationKind;
+import com.loginTemplate.authService.invalidation.InvalidationListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+/*
+ * Revoked access tokens (by jti) and per-user "not before" cut-offs, kept until the tokens they
+ * cover have expired anyway: 15 minutes for a token, the refresh lifetime for a user, since
+ * the cut-off also applies to refresh tokens (see JwtService.validateRefreshToken).
+ *
+ * Revocations are written to auth_revocation (restart safety) and spread to every node over the
+ * InvalidationBus. Each node keeps a numbered log of recent changes and pushes them to its
+ * subscribed gateways, which check requests against their own copy without calling auth-service.
+ *
+ * Cursors are "<node epoch>-<version>": a gateway that reconnects to another node, or to this one
+ * after a restart, gets a snapshot instead of deltas.
+ * */
+public class RevocationStore implements InvalidationListener {
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS auth_revocation (
+                kind CHAR(1) NOT NULL,
+                item_key VARCHAR(255) NOT NULL,
+                not_before BIGINT NOT NULL,
+                expires_at BIGINT NOT NULL,
+                PRIMARY KEY (kind, item_key)
+            )""";
+
+    private static final String UPSERT = """
+            INSERT INTO auth_revocation (kind, item_key, not_before, expires_at) VALUES (?, ?, ?, ?)
+            ON CONFLICT (kind, item_key) DO UPDATE
+            SET not_before = GREATEST(auth_revocation.not_before, EXCLUDED.not_before),
+                expires_at = GREATEST(auth_revocation.expires_at, EXCLUDED.expires_at)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InvalidationBus invalidationBus;
+    private final JWTProperties jwtProperties;
+    private final RevocationProperties properties;
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final Map<String, RevocationEntry> tokens = new ConcurrentHashMap<>();
+    private final Map<String, RevocationEntry> users = new ConcurrentHashMap<>();
+    private final Map<RevocationSubscriber, SubscriberOutbox> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService sender =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("revocation-sender-", 0).factory());
+
+    // Guarded by this
+    private final Deque<Delta> deltas = new ArrayDeque<>();
+    private long version = 0;
+
+    private ScheduledExecutorService scheduler;
+
+    private record Delta(long version, RevocationEntry entry) {}
+
+    @PostConstruct
+    void start() {
+        jdbcTemplate.execute(CREATE_TABLE);
+        load();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "revocation-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::prune,
+                properties.getPruneIntervalSeconds(), properties.getPruneIntervalSeconds(), TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(this::heartbeat,
+                properties.getHeartbeatSeconds(), properties.getHeartbeatSeconds(), TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        sender.shutdownNow();
+    }
+
+    // Revokes one access token until its own expiry
+    public void revokeToken(String jti, long expiresAt) {
+        RevocationEntry entry = RevocationEntry.token(jti, expiresAt);
+        persist(entry);
+        invalidationBus.publish(InvalidationKind.TOKEN, jti + ":" + expiresAt);
+    }
+
+    // Revokes every access and refresh token of the user issued up to now, e.g. after a disable or password change
+    public void revokeUser(String userId) {
+        long notBefore = Instant.now().getEpochSecond();
+        // Refresh tokens issued up to notBefore are all expired by then, the cut-off is not needed afterwards
+        RevocationEntry entry = RevocationEntry.user(userId, notBefore, notBefore + jwtProperties.getExpiry().getRefresh());
+        persist(entry);
+        invalidationBus.publish(InvalidationKind.USER_TOKENS, userId + ":" + notBefore + ":" + entry.expiresAt());
+    }
+
+    public boolean isRevoked(String jti, String userId, Date issuedAt) {
+        long now = Instant.now().getEpochSecond();
+        RevocationEntry token = jti != null ? tokens.get(jti) : null;
+        if (token != null && token.expiresAt() > now) {
+            return true;
+        }
+        RevocationEntry user = userId != null ? users.get(userId) : null;
+        return user != null && user.expiresAt() > now
+                // iat has whole seconds: a token from the same second as the cut-off may predate it
+                && (issuedAt == null || issuedAt.toInstant().getEpochSecond() <= user.notBefore());
+    }
+
+    public int revokedTokens() {
+        return tokens.size();
+    }
+
+    public int revokedUsers() {
+        return users.size();
+    }
+
+    /*
+     * Registers a gateway and sends it what it is missing: the deltas after `since` when they are
+     * still in the log, a snapshot otherwise. Queued under the lock so no change falls in between.
+     * */
+    public synchronized void subscribe(String since, RevocationSubscriber subscriber) {
+        SubscriberOutbox outbox = new SubscriberOutbox(subscriber, properties.getSubscriberQueueSize(), sender, this::unsubscribe);
+        subscribers.put(subscriber, outbox);
+        List<RevocationEntry> missed = deltasSince(since);
+        outbox.send(missed != null ? new RevocationUpdate(false, cursor(), missed) : snapshot());
+    }
+
+    public void unsubscribe(RevocationSubscriber subscriber) {
+        SubscriberOutbox outbox = subscribers.remove(subscriber);
+        if (outbox != null) {
+            outbox.close();
+        }
+    }
+
+    @Override
+    public void onInvalidation(InvalidationKind kind, String key) {
+        String[] parts = key.split(":");
+        try {
+            if (kind == InvalidationKind.TOKEN && parts.length == 2) {
+                apply(RevocationEntry.token(parts[0], Long.parseLong(parts[1])));
+            } else if (kind == InvalidationKind.USER_TOKENS && parts.length == 3) {
+                apply(RevocationEntry.user(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed revocation {}", key);
+        }
+    }
+
+    @Override
+    public synchronized void onReset() {
+        load();
+        deltas.clear();
+        version++;
+        broadcast(snapshot());
+    }
+
+    private void persist(RevocationEntry entry) {
+        jdbcTemplate.update(UPSERT, String.valueOf(entry.type()), entry.key(), entry.notBefore(), entry.expiresAt());
+    }
+
+    private synchronized void apply(RevocationEntry entry) {
+        Map<String, RevocationEntry> target = entry.type() == RevocationEntry.TOKEN ? tokens : users;
+        RevocationEntry merged = target.merge(entry.key(), entry, RevocationEntry::merge);
+
+        version++;
+        deltas.addLast(new Delta(version, merged));
+        while (deltas.size() > properties.getDeltaLogSize()) {
+            deltas.removeFirst();
+        }
+        broadcast(new RevocationUpdate(false, cursor(), List.of(merged)));
+    }
+
+    private void load() {
+        long now = Instant.now().getEpochSecond();
+        tokens.clear();
+        users.clear();
+        jdbcTemplate.query("SELECT kind, item_key, not_before, expires_at FROM auth_revocation WHERE expires_at > ?", rs -> {
+            RevocationEntry entry = new RevocationEntry(rs.getString(1).charAt(0), rs.getString(2), rs.getLong(3), rs.getLong(4));
+            (entry.type() == RevocationEntry.TOKEN ? tokens : users).put(entry.key(), entry);
+        }, now);
+        log.info("Loaded {} revoked tokens and {} user cut-offs", tokens.size(), users.size());
+    }
+
+    // null when the cursor is from another epoch or older than the retained log
+    private List<RevocationEntry> deltasSince(String since) {
+        if (since == null || !since.startsWith(epoch + "-")) {
+            return null;
+        }
+        long sinceVersion;
+        try {
+            sinceVersion = Long.parseLong(since.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (sinceVersion > version) {
+            return null;
+        }
+        long oldestAvailable = deltas.isEmpty() ? version + 1 : deltas.peekFirst().version();
+        if (sinceVersion + 1 < oldestAvailable && sinceVersion != version) {
+            return null;
+        }
+        List<RevocationEntry> missed = new ArrayList<>();
+        for (Delta delta : deltas) {
+            if (delta.version() > sinceVersion) {
+                missed.add(delta.entry());
+            }
+        }
+        return missed;
+    }
+
+    private RevocationUpdate snapshot() {
+        List<RevocationEntry> entries = new ArrayList<>(tokens.size() + users.size());
+        entries.addAll(tokens.values());
+        entries.addAll(users.values());
+        return new RevocationUpdate(true, cursor(), entries);
+    }
+
+    private String cursor() {
+        return epoch + "-" + version;
+    }
+
+    private void broadcast(RevocationUpdate update) {
+        for (SubscriberOutbox outbox : subscribers.values()) {
+            outbox.send(update);
+        }
+    }
+
+    private void heartbeat() {
+        for (SubscriberOutbox outbox : subscribers.values()) {
+            outbox.heartbeat();
+        }
+    }
+
+    private void prune() {
+        long now = Instant.now().getEpochSecond();
+        // Gateways expire entries on their own, no delta is sent for this
+        tokens.values().removeIf(entry -> entry.expiresAt() <= now);
+        users.values().removeIf(entry -> entry.expiresAt() <= now);
+        try {
+            jdbcTemplate.update("DELETE FROM auth_revocation WHERE expires_at <= ?", now);
+        } catch (RuntimeException e) {
+            log.warn("Could not prune auth_revocation: {}", e.getMessage());
+        }
+    }
+}
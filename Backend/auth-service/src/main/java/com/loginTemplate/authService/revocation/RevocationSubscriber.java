@@ -0,0 +1,17 @@
+package com.loginTemplate.authService.revocation;
+
+import java.io.IOException;
+
+/*
+ * A connected gateway. send and heartbeat are called in order by one sender thread at a time,
+ * outside the RevocationStore lock (see SubscriberOutbox). Throwing drops the subscriber, and
+ * close() is called on every subscriber the store drops.
+ * */
+public interface RevocationSubscriber {
+
+    void send(RevocationUpdate update) throws IOException;
+
+    void heartbeat() throws IOException;
+
+    void close();
+}
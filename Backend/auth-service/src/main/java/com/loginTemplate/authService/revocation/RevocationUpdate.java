@@ -0,0 +1,23 @@
+package com.loginTemplate.authService.revocation;
+
+import java.util.List;
+
+/*
+ * One message on the gateway feed. A snapshot replaces the subscriber's state, a delta adds to it.
+ * The cursor is what the subscriber sends back as ?since= after a reconnect.
+ * */
+public record RevocationUpdate(boolean snapshot, String cursor, List<RevocationEntry> entries) {
+
+    public String event() {
+        return snapshot ? "snapshot" : "delta";
+    }
+
+    // First line is the cursor, then one encoded entry per line
+    public String encode() {
+        StringBuilder data = new StringBuilder(cursor.length() + entries.size() * 64).append(cursor);
+        for (RevocationEntry entry : entries) {
+            data.append('\n').append(entry.encode());
+        }
+        return data.toString();
+    }
+}
@@ -0,0 +1,123 @@
+package com.loginTemplate.authService.revocation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/*
+ * Bounded send queue of one subscriber. RevocationStore enqueues under its lock, so updates keep
+ * their order, and a single drain task at a time writes them to the subscriber outside it: a slow
+ * gateway only delays itself. A subscriber that falls queueSize messages behind or fails a send
+ * is dropped and closed, and resumes from its last cursor when it reconnects.
+ * */
+@Slf4j
+class SubscriberOutbox {
+
+    // update is null for a heartbeat
+    private record Message(RevocationUpdate update) {}
+
+    private static final Message HEARTBEAT = new Message(null);
+
+    private final RevocationSubscriber subscriber;
+    private final Queue<Message> queue;
+    private final Executor sender;
+    private final Consumer<RevocationSubscriber> onDrop;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    SubscriberOutbox(RevocationSubscriber subscriber, int queueSize, Executor sender, Consumer<RevocationSubscriber> onDrop) {
+        this.subscriber = subscriber;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.sender = sender;
+        this.onDrop = onDrop;
+    }
+
+    void send(RevocationUpdate update) {
+        enqueue(new Message(update));
+    }
+
+    void heartbeat() {
+        // Pending updates already show the connection is alive
+        if (queue.isEmpty()) {
+            enqueue(HEARTBEAT);
+        }
+    }
+
+    // Stops sending, the subscriber itself is already gone
+    void close() {
+        closed.set(true);
+        queue.clear();
+    }
+
+    private void enqueue(Message message) {
+        if (closed.get()) {
+            return;
+        }
+        if (!queue.offer(message)) {
+            drop("send queue full");
+            return;
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+            close();
+        }
+    }
+
+    private void drain() {
+        try {
+            Message message;
+            while (!closed.get() && (message = queue.poll()) != null) {
+                if (message.update() == null) {
+                    subscriber.heartbeat();
+                } else {
+                    subscriber.send(message.update());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            drop(e.getMessage());
+        } finally {
+            draining.set(false);
+        }
+        // A message enqueued after the last poll but before draining was cleared
+        if (!closed.get() && !queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private void drop(String reason) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        queue.clear();
+        log.info("Dropping revocation subscriber: {}", reason);
+        onDrop.accept(subscriber);
+        try {
+            sender.execute(this::closeSubscriber);
+        } catch (RejectedExecutionException e) {
+            closeSubscriber();
+        }
+    }
+
+    private void closeSubscriber() {
+        try {
+            subscriber.close();
+        } catch (RuntimeException e) {
+            log.debug("Closing revocation subscriber failed: {}", e.getMessage());
+        }
+    }
+}
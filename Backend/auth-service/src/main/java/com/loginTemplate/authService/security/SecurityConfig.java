@@ -1,6 +1,9 @@
 package com.loginTemplate.authService.security;
 
+import com.loginTemplate.authService.filters.AdminTokenFilter;
 import com.loginTemplate.authService.filters.GatewayHeaderFilter;
+import com.loginTemplate.authService.profiling.ProfiledPasswordEncoder;
+import com.loginTemplate.authService.service.JwtService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -19,7 +22,7 @@ import java.util.List;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtService jwtService) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -31,11 +34,17 @@ public class SecurityConfig {
                                 "/auth/refresh",
                                 "/auth/commons/discovery",
                                 "/auth/signup",
-                                "/auth/logout"
+                                "/auth/logout",
+                                "/internal/revocations",
+                                "/internal/reference-tokens/resolve"
                         ).permitAll()
+                        .requestMatchers("/actuator/jfr/**", "/actuator/jfr",
+                                "/actuator/revocations/**", "/actuator/revocations",
+                                "/actuator/users/**", "/actuator/users").hasAuthority("ROLE_ADMIN")
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(gatewayHeaderFilter(), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(gatewayHeaderFilter(), UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new AdminTokenFilter(jwtService), GatewayHeaderFilter.class);
 
         return http.build();
     }
@@ -49,7 +58,8 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // Emits a PasswordEvent per hash/verify while a flight recording is running
+        return new ProfiledPasswordEncoder(new BCryptPasswordEncoder());
     }
 
     @Bean
@@ -4,6 +4,8 @@ import com.loginTemplate.authService.DTO.AuthResponse;
 import com.loginTemplate.authService.config.JWTProperties;
 import com.loginTemplate.authService.config.KeyLoader;
 import com.loginTemplate.authService.exceptions.CustomException;
+import com.loginTemplate.authService.profiling.TokenEvent;
+import com.loginTemplate.authService.revocation.RevocationStore;
 import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.ECDSASigner;
 import com.nimbusds.jose.crypto.ECDSAVerifier;
@@ -23,6 +25,7 @@ public class JwtService {
 
     private final KeyLoader keyLoader;
     private final JWTProperties properties;
+    private final RevocationStore revocationStore;
 
     public AuthResponse createAccessToken(String userId, Map<String, Object> additionalData){
         Instant now = Instant.now();
@@ -54,8 +57,7 @@ public class JwtService {
 
         SignedJWT signedJWT  = new SignedJWT(header, claims);
 
-        JWSSigner signer = new ECDSASigner(keyLoader.getPrivateKey());
-        signedJWT.sign(signer);
+        sign(signedJWT, "access");
 
         Map<Object, Object> tokenDetails= new HashMap<>();
         tokenDetails.put("accessToken", signedJWT.serialize());
@@ -90,9 +92,7 @@ public class JwtService {
 
             SignedJWT signedJWT = new SignedJWT(header, claims);
 
-            JWSSigner signer = new ECDSASigner(keyLoader.getPrivateKey());
-
-            signedJWT.sign(signer);
+            sign(signedJWT, "refresh");
 
             return new AuthResponse(HttpStatus.OK, Map.of("refreshToken", signedJWT.serialize()), "Token Created", 0);
 
@@ -108,9 +108,7 @@ public class JwtService {
             SignedJWT signedJWT = SignedJWT.parse(token);
 
             //Verify signature using public key
-            JWSVerifier verifier = new ECDSAVerifier(keyLoader.getPublicKey());
-
-            if (!signedJWT.verify(verifier)) {
+            if (!verify(signedJWT, "refresh")) {
                 throw new CustomException.InvalidTokenException("Invalid refresh token signature");
             }
 
@@ -130,6 +128,11 @@ public class JwtService {
                 throw new CustomException.InvalidTokenException("Invalid token type");
             }
 
+            //Revoking a user also ends the sessions of refresh tokens issued up to then
+            if (revocationStore.isRevoked(null, claims.getSubject(), claims.getIssueTime())) {
+                throw new CustomException.InvalidTokenException("Refresh token revoked");
+            }
+
             //Return subject (userId)
             return new AuthResponse(HttpStatus.OK, Map.of("userDetails", claims.getSubject()),"Token parsed successfully", 0);
 
@@ -144,6 +147,82 @@ public class JwtService {
         }
     }
 
+    //Verifies an access token issued by this service (signature, expiry, revocation), used for admin-only endpoints and logout
+    public AuthResponse validateAccessToken(String token) {
+
+        try {
+            SignedJWT signedJWT = SignedJWT.parse(token);
+
+            if (!verify(signedJWT, "access")) {
+                throw new CustomException.InvalidTokenException("Invalid access token signature");
+            }
+
+            JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+
+            Date expirationTime = claims.getExpirationTime();
+            if (expirationTime == null || expirationTime.before(new Date())) {
+                throw new CustomException.InvalidTokenException("Access token expired");
+            }
+
+            if (!"access".equals(claims.getStringClaim("type"))) {
+                throw new CustomException.InvalidTokenException("Invalid token type");
+            }
+
+            if (revocationStore.isRevoked(claims.getJWTID(), claims.getSubject(), claims.getIssueTime())) {
+                throw new CustomException.InvalidTokenException("Access token revoked");
+            }
+
+            List<String> roles = claims.getStringListClaim("roles");
+            return new AuthResponse(HttpStatus.OK,
+                    Map.of("userId", claims.getSubject(),
+                            "userRoles", roles != null ? roles : List.of(),
+                            "jti", claims.getJWTID(),
+                            "expiresAt", expirationTime.toInstant().getEpochSecond()),
+                    "Token parsed successfully", 0);
+
+        } catch (CustomException.InvalidTokenException e) {
+            return new AuthResponse(HttpStatus.UNAUTHORIZED, null, e.getMessage(), 1);
+        } catch (ParseException | JOSEException e) {
+            return new AuthResponse(HttpStatus.UNAUTHORIZED, null, "Unable to parse token", 1);
+        }
+    }
+
+    // Signing and verification go through these two so every ECDSA operation shows up as a TokenEvent
+    private void sign(SignedJWT jwt, String tokenType) throws JOSEException {
+        TokenEvent event = new TokenEvent();
+        if (!event.isEnabled()) {
+            jwt.sign(new ECDSASigner(keyLoader.getPrivateKey()));
+            return;
+        }
+        event.operation = "sign";
+        event.tokenType = tokenType;
+        event.outcome = "error";
+        event.begin();
+        try {
+            jwt.sign(new ECDSASigner(keyLoader.getPrivateKey()));
+            event.outcome = "ok";
+        } finally {
+            event.commit();
+        }
+    }
+
+    private boolean verify(SignedJWT jwt, String tokenType) throws JOSEException {
+        TokenEvent event = new TokenEvent();
+        if (!event.isEnabled()) {
+            return jwt.verify(new ECDSAVerifier(keyLoader.getPublicKey()));
+        }
+        event.operation = "verify";
+        event.tokenType = tokenType;
+        event.outcome = "error";
+        event.begin();
+        try {
+            boolean valid = jwt.verify(new ECDSAVerifier(keyLoader.getPublicKey()));
+            event.outcome = valid ? "ok" : "invalid";
+            return valid;
+        } finally {
+            event.commit();
+        }
+    }
 
     public Long getRefreshTokenExpiry(){
         return properties.getExpiry().getRefresh();
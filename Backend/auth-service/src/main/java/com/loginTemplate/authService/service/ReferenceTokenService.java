@@ -0,0 +1,158 @@
+package com.loginTemplate.authService.service;
+
+import com.loginTemplate.authService.config.ReferenceTokenProperties;
+import com.loginTemplate.authService.revocation.RevocationStore;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+/*
+ * Opaque reference tokens ("rt_" + 32 random bytes) standing in for access JWTs, so the signed
+ * token never reaches the browser. The gateway resolves references back to the JWT (phantom
+ * token pattern) and caches the result until the token expires.
+ *
+ * Only a SHA-256 of the reference is stored, next to the JWT, in auth_reference_token.
+ * Rows are shared by all nodes, so any node can resolve a reference issued by another.
+ * */
+public class ReferenceTokenService {
+
+    public static final String PREFIX = "rt_";
+
+    public record Resolved(String jwt, long expiresAt) {}
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS auth_reference_token (
+                ref_hash CHAR(64) PRIMARY KEY,
+                jwt TEXT NOT NULL,
+                jti VARCHAR(64) NOT NULL,
+                user_id VARCHAR(64) NOT NULL,
+                issued_at BIGINT NOT NULL,
+                expires_at BIGINT NOT NULL
+            )""";
+
+    private static final String RESOLVE = """
+            SELECT ref_hash, jwt, jti, user_id, issued_at, expires_at FROM auth_reference_token
+            WHERE ref_hash = ANY(?) AND expires_at > ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReferenceTokenProperties properties;
+    private final RevocationStore revocationStore;
+
+    private final SecureRandom random = new SecureRandom();
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        jdbcTemplate.execute(CREATE_TABLE);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reference-token-prune");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::prune,
+                properties.getPruneIntervalSeconds(), properties.getPruneIntervalSeconds(), TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // Stores the access JWT and returns the reference handed to the client instead
+    public String issue(String jwt) throws ParseException {
+        JWTClaimsSet claims = SignedJWT.parse(jwt).getJWTClaimsSet();
+
+        byte[] secret = new byte[32];
+        random.nextBytes(secret);
+        String reference = PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+
+        jdbcTemplate.update("INSERT INTO auth_reference_token (ref_hash, jwt, jti, user_id, issued_at, expires_at) VALUES (?, ?, ?, ?, ?, ?)",
+                hash(reference), jwt, claims.getJWTID(), claims.getSubject(),
+                claims.getIssueTime().toInstant().getEpochSecond(),
+                claims.getExpirationTime().toInstant().getEpochSecond());
+        return reference;
+    }
+
+    /*
+     * One query for a whole batch. Unknown, expired and revoked references are left out of the result.
+     * */
+    public Map<String, Resolved> resolve(List<String> references) {
+        Map<String, String> byHash = new HashMap<>();
+        for (String reference : references) {
+            if (reference != null && reference.startsWith(PREFIX)) {
+                byHash.put(hash(reference), reference);
+            }
+        }
+        Map<String, Resolved> resolved = new HashMap<>();
+        if (byHash.isEmpty()) {
+            return resolved;
+        }
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RESOLVE);
+            Array hashes = connection.createArrayOf("varchar", byHash.keySet().toArray());
+            statement.setArray(1, hashes);
+            statement.setLong(2, Instant.now().getEpochSecond());
+            return statement;
+        }, rs -> {
+            if (revocationStore.isRevoked(rs.getString(3), rs.getString(4), new Date(rs.getLong(5) * 1000))) {
+                return;
+            }
+            resolved.put(byHash.get(rs.getString(1)), new Resolved(rs.getString(2), rs.getLong(6)));
+        });
+        return resolved;
+    }
+
+    private void prune() {
+        try {
+            jdbcTemplate.update("DELETE FROM auth_reference_token WHERE expires_at <= ?", Instant.now().getEpochSecond());
+        } catch (RuntimeException e) {
+            log.warn("Could not prune auth_reference_token: {}", e.getMessage());
+        }
+    }
+
+    private static String hash(String reference) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(reference.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
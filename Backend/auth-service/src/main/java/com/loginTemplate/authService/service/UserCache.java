@@ -0,0 +1,77 @@
+package com.loginTemplate.authService.service;
+
+import com.loginTemplate.authService.config.CacheProperties;
+import com.loginTemplate.authService.invalidation.InvalidationKind;
+import com.loginTemplate.authService.invalidation.InvalidationListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+/*
+ * Per-node cache of the user state the refresh path needs (roles, enabled).
+ * Entries expire after auth.cache.user-ttl-seconds and are dropped on every node as soon
+ * as a USER invalidation arrives over the InvalidationBus.
+ * */
+public class UserCache implements InvalidationListener {
+
+    public record CachedUser(Set<String> roles, boolean enabled, long expiresAt) {}
+
+    private final CacheProperties properties;
+    private final Map<UUID, CachedUser> users = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation so a load that raced with one is not cached
+    private final AtomicLong epoch = new AtomicLong();
+
+    public CachedUser get(UUID userId) {
+        CachedUser cached = users.get(userId);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt() < System.currentTimeMillis()) {
+            users.remove(userId, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    public long currentEpoch() {
+        return epoch.get();
+    }
+
+    public void put(UUID userId, Set<String> roles, boolean enabled, long loadedAtEpoch) {
+        if (users.size() >= properties.getMaxUsers()) {
+            users.clear();
+        }
+        users.put(userId, new CachedUser(Set.copyOf(roles), enabled,
+                System.currentTimeMillis() + properties.getUserTtlSeconds() * 1000));
+        if (epoch.get() != loadedAtEpoch) {
+            users.remove(userId);
+        }
+    }
+
+    @Override
+    public void onInvalidation(InvalidationKind kind, String key) {
+        if (kind != InvalidationKind.USER) {
+            return;
+        }
+        epoch.incrementAndGet();
+        try {
+            users.remove(UUID.fromString(key));
+        } catch (IllegalArgumentException ignored) {
+            // not a user id, nothing cached under it
+        }
+    }
+
+    @Override
+    public void onReset() {
+        epoch.incrementAndGet();
+        users.clear();
+    }
+}
@@ -0,0 +1,319 @@
+package com.loginTemplate.authService.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loginTemplate.authService.DTO.ImportRow;
+import com.loginTemplate.authService.DTO.ImportSummary;
+import com.loginTemplate.authService.config.UserImportProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+/*
+ * Streams users from a CSV or NDJSON file into the users/user_roles tables.
+ *
+ * Only one batch is held in memory at a time. Passwords are bcrypt-hashed in parallel,
+ * values that already are bcrypt hashes are stored as-is. Each batch commits in its own
+ * transaction and then advances <file>.checkpoint, so a crashed import resumes after the
+ * last committed line. Rejected rows are appended to <file>.rejected with their reason.
+ * */
+public class UserImportService {
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    // Duplicates (email or username) are skipped by the unique constraints instead of a lookup per row
+    private static final String INSERT_USER =
+            "INSERT INTO users (id, email, username, password, enabled) VALUES (?, ?, ?, ?, true) ON CONFLICT DO NOTHING";
+    private static final String INSERT_ROLE =
+            "INSERT INTO user_roles (user_id, role) SELECT ?, ? WHERE EXISTS (SELECT 1 FROM users WHERE id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final UserImportProperties properties;
+
+    public ImportSummary importFile(Path file) throws IOException {
+        long start = System.currentTimeMillis();
+        Path checkpointFile = file.resolveSibling(file.getFileName() + ".checkpoint");
+        Path rejectedFile = file.resolveSibling(file.getFileName() + ".rejected");
+        boolean ndjson = isNdjson(file);
+
+        long resumeAfter = readCheckpoint(checkpointFile);
+        if (resumeAfter > 0) {
+            log.info("Resuming import of {} after line {}", file, resumeAfter);
+        }
+
+        int threads = properties.getHashThreads() > 0
+                ? properties.getHashThreads()
+                : Runtime.getRuntime().availableProcessors();
+
+        Counters counters = new Counters();
+        try (ExecutorService hashPool = Executors.newFixedThreadPool(threads);
+             BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             BufferedWriter rejected = Files.newBufferedWriter(rejectedFile, StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+
+            List<ImportRow> batch = new ArrayList<>(properties.getBatchSize());
+            List<String> batchRejects = new ArrayList<>();
+            long lineNumber = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= resumeAfter || line.isBlank()) {
+                    continue;
+                }
+                if (!ndjson && lineNumber == 1 && line.toLowerCase(Locale.ROOT).startsWith("email")) {
+                    continue; // CSV header
+                }
+
+                try {
+                    batch.add(ndjson ? parseJson(lineNumber, line) : parseCsv(lineNumber, line));
+                } catch (IllegalArgumentException e) {
+                    batchRejects.add(lineNumber + "\t" + e.getMessage());
+                }
+
+                if (batch.size() >= properties.getBatchSize()) {
+                    flush(batch, batchRejects, lineNumber, hashPool, checkpointFile, rejected, counters);
+                }
+            }
+            flush(batch, batchRejects, lineNumber, hashPool, checkpointFile, rejected, counters);
+        }
+
+        // Completed imports leave no checkpoint so the file can be re-imported deliberately
+        Files.deleteIfExists(checkpointFile);
+
+        ImportSummary summary = new ImportSummary(counters.processed, counters.imported, counters.rejected,
+                resumeAfter, System.currentTimeMillis() - start);
+        log.info("Import of {} finished: {}", file, summary);
+        return summary;
+    }
+
+    private void flush(List<ImportRow> batch, List<String> batchRejects, long lastLine, ExecutorService hashPool,
+                       Path checkpointFile, BufferedWriter rejected, Counters counters) throws IOException {
+        if (batch.isEmpty() && batchRejects.isEmpty()) {
+            return;
+        }
+
+        long rowsRead = batch.size() + batchRejects.size();
+        List<ImportRow> hashed = hashAll(batch, batchRejects, hashPool);
+        List<UUID> ids = new ArrayList<>(hashed.size());
+        for (int i = 0; i < hashed.size(); i++) {
+            ids.add(UUID.randomUUID());
+        }
+
+        int[] inserted = transactionTemplate.execute(status -> insertBatch(hashed, ids));
+
+        for (int i = 0; i < hashed.size(); i++) {
+            if (inserted[i] == 0) {
+                batchRejects.add(hashed.get(i).lineNumber() + "\tEmail or username already exists");
+            } else {
+                counters.imported++;
+            }
+        }
+
+        // Rejects and checkpoint are only written once the batch is committed
+        for (String reject : batchRejects) {
+            rejected.write(reject);
+            rejected.newLine();
+        }
+        rejected.flush();
+        writeCheckpoint(checkpointFile, lastLine);
+
+        counters.processed += rowsRead;
+        counters.rejected += batchRejects.size();
+        log.info("Imported through line {}: {} imported, {} rejected", lastLine, counters.imported, counters.rejected);
+
+        batch.clear();
+        batchRejects.clear();
+    }
+
+    private List<ImportRow> hashAll(List<ImportRow> batch, List<String> batchRejects, ExecutorService hashPool) {
+        List<Future<ImportRow>> futures = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            futures.add(hashPool.submit(() -> BCRYPT_HASH.matcher(row.password()).matches()
+                    ? row
+                    : new ImportRow(row.lineNumber(), row.email(), row.userName(),
+                            passwordEncoder.encode(row.password()), row.roles())));
+        }
+
+        List<ImportRow> hashed = new ArrayList<>(batch.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                hashed.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                batchRejects.add(batch.get(i).lineNumber() + "\tPassword hashing failed: " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Import interrupted", e);
+            }
+        }
+        return hashed;
+    }
+
+    private int[] insertBatch(List<ImportRow> rows, List<UUID> ids) {
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_USER, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ImportRow row = rows.get(i);
+                ps.setObject(1, ids.get(i));
+                ps.setString(2, row.email());
+                ps.setString(3, row.userName());
+                ps.setString(4, row.password());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        List<Object[]> roleArgs = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (counts[i] != 0) {
+                for (String role : rows.get(i).roles()) {
+                    roleArgs.add(new Object[]{ids.get(i), role, ids.get(i)});
+                }
+            }
+        }
+        if (!roleArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ROLE, roleArgs);
+        }
+        return counts;
+    }
+
+    private ImportRow parseCsv(long lineNumber, String line) {
+        List<String> parts = splitCsv(line);
+        if (parts.size() < 3 || parts.size() > 4) {
+            throw new IllegalArgumentException("Expected email,userName,password[,roles], got " + parts.size()
+                    + " fields (quote values containing commas)");
+        }
+        Set<String> roles = parts.size() > 3 && !parts.get(3).isBlank()
+                ? Set.of(parts.get(3).trim().split("\\s*;\\s*"))
+                : Set.of(properties.getDefaultRole());
+        return validate(new ImportRow(lineNumber, parts.get(0).trim(), parts.get(1).trim(), parts.get(2), roles));
+    }
+
+    /*
+     * RFC 4180 fields on a single line: "a,b" keeps the comma, "" inside quotes is a literal quote.
+     * Multi-line quoted values are not supported and end up in <file>.rejected.
+     * */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            if (i < line.length() && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= line.length()) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    }
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < line.length() && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Unexpected character after quoted field");
+                }
+            } else {
+                while (i < line.length() && line.charAt(i) != ',') {
+                    char c = line.charAt(i++);
+                    if (c == '"') {
+                        throw new IllegalArgumentException("Quote inside unquoted field");
+                    }
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            field.setLength(0);
+            if (i >= line.length()) {
+                return fields;
+            }
+            i++; // comma
+        }
+    }
+
+    private ImportRow parseJson(long lineNumber, String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            Set<String> roles = new HashSet<>();
+            node.path("roles").forEach(role -> roles.add(role.asText()));
+            if (roles.isEmpty()) {
+                roles.add(properties.getDefaultRole());
+            }
+            return validate(new ImportRow(lineNumber, node.path("email").asText(""),
+                    node.path("userName").asText(""), node.path("password").asText(""), roles));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed JSON line");
+        }
+    }
+
+    private ImportRow validate(ImportRow row) {
+        if (row.email().isBlank() || !row.email().contains("@")) {
+            throw new IllegalArgumentException("Invalid email");
+        }
+        if (row.userName().isBlank()) {
+            throw new IllegalArgumentException("Username is required");
+        }
+        if (row.password().isBlank()) {
+            throw new IllegalArgumentException("Password is required");
+        }
+        return row;
+    }
+
+    private boolean isNdjson(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl");
+    }
+
+    private long readCheckpoint(Path checkpointFile) throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return 0;
+        }
+        return Long.parseLong(Files.readString(checkpointFile).trim());
+    }
+
+    private void writeCheckpoint(Path checkpointFile, long line) throws IOException {
+        Path tmp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        Files.writeString(tmp, Long.toString(line));
+        Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static class Counters {
+        private long processed;
+        private long imported;
+        private long rejected;
+    }
+}
@@ -3,14 +3,19 @@ package com.loginTemplate.authService.service;
 import com.loginTemplate.authService.DTO.AuthResponse;
 import com.loginTemplate.authService.DTO.LoginRequest;
 import com.loginTemplate.authService.DTO.SignUpRequest;
+import com.loginTemplate.authService.datasource.RecentWrites;
+import com.loginTemplate.authService.datasource.RoutingContext;
 import com.loginTemplate.authService.entity.User;
 import com.loginTemplate.authService.exceptions.CustomException;
+import com.loginTemplate.authService.invalidation.InvalidationBus;
+import com.loginTemplate.authService.invalidation.InvalidationKind;
 import com.loginTemplate.authService.repositories.UserRepository;
-import jakarta.transaction.Transactional;
+import com.loginTemplate.authService.revocation.RevocationStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
 import java.util.Set;
@@ -24,6 +29,10 @@ import java.util.UUID;
 public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+    private final InvalidationBus invalidationBus;
+    private final RecentWrites recentWrites;
+    private final RevocationStore revocationStore;
 
     public User validateCredentials(LoginRequest request) {
 
@@ -48,9 +57,15 @@ public class UserService {
         return user;
     }
 
+    //Read-only: served by a replica when replica routing is configured
+    @Transactional(readOnly = true)
     public AuthResponse authenticateUser(LoginRequest request) {
 
+        boolean primaryForced = RoutingContext.isPrimaryForced();
         try {
+            if (recentWrites.isRecent(request.identifier())) {
+                RoutingContext.forcePrimary();
+            }
             User user = validateCredentials(request);
 
             return new AuthResponse(
@@ -79,26 +94,75 @@ public class UserService {
                     "Something went wrong: " + e.getMessage(),
                     1
             );
+        } finally {
+            RoutingContext.restore(primaryForced);
         }
     }
 
 
+    //Cache hits need no connection, misses are loaded from the primary (see below)
+    @Transactional(readOnly = true)
     public AuthResponse getRoles(String userId) {
 
+        boolean primaryForced = RoutingContext.isPrimaryForced();
+        try {
+            UUID id = UUID.fromString(userId);
+
+            UserCache.CachedUser cached = userCache.get(id);
+            if (cached == null) {
+                // A lagging replica could hand back the state a USER invalidation just dropped,
+                // which would then be cached for the full TTL on this node
+                RoutingContext.forcePrimary();
+                long epoch = userCache.currentEpoch();
+                User user = userRepository.findById(id)
+                        .orElseThrow(() ->
+                                new CustomException.UserNotFoundException("User not found")
+                        );
+                userCache.put(id, user.getRoles(), user.isEnabled(), epoch);
+                cached = new UserCache.CachedUser(user.getRoles(), user.isEnabled(), 0);
+            }
+
+            if (!cached.enabled()) {
+                throw new CustomException.InvalidCredentialsException("User account is disabled");
+            }
+
+            return new AuthResponse(HttpStatus.OK, Map.of("userRoles",cached.roles()), "Roles Fetched", 0);
+
+        } catch (CustomException.UserNotFoundException e) {
+            return new AuthResponse(HttpStatus.NOT_FOUND, null, e.getMessage(), 1);
+        } catch (CustomException.InvalidCredentialsException e) {
+            return new AuthResponse(HttpStatus.FORBIDDEN, null, e.getMessage(), 1);
+        } finally {
+            RoutingContext.restore(primaryForced);
+        }
+    }
+
+    //Enable or disable a user, takes effect on every auth-service node once committed
+    @Transactional(rollbackFor = Exception.class)
+    public AuthResponse setUserEnabled(String userId, boolean enabled) {
+
         try {
             User user = userRepository.findById(UUID.fromString(userId))
                     .orElseThrow(() ->
                             new CustomException.UserNotFoundException("User not found")
                     );
+            user.setEnabled(enabled);
+            userRepository.save(user);
+            recentWrites.record(user.getEmail(), user.getUsername());
+            invalidationBus.publish(InvalidationKind.USER, user.getId().toString());
+            if (!enabled) {
+                // Access tokens already handed out stop working at the gateways right away
+                revocationStore.revokeUser(userId);
+            }
 
-            return new AuthResponse(HttpStatus.OK, Map.of("userRoles",user.getRoles()), "Roles Fetched", 0);
+            return new AuthResponse(HttpStatus.OK, Map.of("userId", userId, "enabled", enabled), "User Updated", 0);
 
         } catch (CustomException.UserNotFoundException e) {
             return new AuthResponse(HttpStatus.NOT_FOUND, null, e.getMessage(), 1);
         }
     }
 
-    @Transactional(rollbackOn = Exception.class)
+    @Transactional(rollbackFor = Exception.class)
     public AuthResponse registerUser(SignUpRequest request) {
 
         try {
@@ -121,6 +185,7 @@ public class UserService {
                     .enabled(true)
                     .build();
             userRepository.save(user);
+            recentWrites.record(user.getEmail(), user.getUsername());
             return new AuthResponse(HttpStatus.CREATED, Map.of("userName",user.getUsername(),"userMail",user.getEmail(), "userRoles",user.getRoles()),"Created User : "+user.getUsername(),0);
 
         } catch (CustomException.EmailAlreadyExistsException e) {
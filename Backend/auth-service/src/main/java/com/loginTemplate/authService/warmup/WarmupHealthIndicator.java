@@ -0,0 +1,28 @@
+package com.loginTemplate.authService.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/*
+ * Part of the readiness group: OUT_OF_SERVICE until WarmupRunner finishes,
+ * so load balancers only route to pods whose hot paths are compiled
+ * */
+@Component("warmup")
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private volatile boolean done = false;
+    private volatile Map<String, Object> report = Map.of();
+
+    public void markDone(Map<String, Object> report) {
+        this.report = report;
+        this.done = true;
+    }
+
+    @Override
+    public Health health() {
+        return (done ? Health.up() : Health.outOfService()).withDetails(report).build();
+    }
+}
@@ -0,0 +1,199 @@
+package com.loginTemplate.authService.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loginTemplate.authService.DTO.AuthResponse;
+import com.loginTemplate.authService.DTO.LoginRequest;
+import com.loginTemplate.authService.DTO.SignUpRequest;
+import com.loginTemplate.authService.config.WarmupProperties;
+import com.loginTemplate.authService.entity.User;
+import com.loginTemplate.authService.repositories.UserRepository;
+import com.loginTemplate.authService.service.JwtService;
+import com.loginTemplate.authService.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+/*
+ * Drives the login/refresh hot paths (ECDSA, BCrypt, Jackson, Hibernate queries) in a
+ * background thread after startup until JIT compilation settles or the time budget runs out.
+ * WarmupHealthIndicator keeps the pod out of the readiness group meanwhile.
+ *
+ * Logins and queries run against one existing active user (with a password that never
+ * matches), so the found-user paths including BCrypt and role hydration get compiled. On an
+ * empty database a synthetic identity is used instead. Nothing is written either way.
+ * */
+public class WarmupRunner {
+
+    private static final String SYNTHETIC_IDENTIFIER = "warmup@warmup.invalid";
+
+    private final WarmupProperties properties;
+    private final WarmupHealthIndicator healthIndicator;
+    private final JwtService jwtService;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final UserService userService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmup() {
+        if (!properties.isEnabled()) {
+            healthIndicator.markDone(Map.of("skipped", true));
+            return;
+        }
+        Thread thread = new Thread(this::warmup, "jit-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmup() {
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean jitTimeAvailable = jit != null && jit.isCompilationTimeMonitoringSupported();
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(properties.getTimeBudgetSeconds());
+        String passwordHash = passwordEncoder.encode("warmup-password");
+
+        Timing token = new Timing();
+        Timing login = new Timing();
+        Timing query = new Timing();
+        boolean sampleUser = false;
+        int rounds = 0;
+        int settledRounds = 0;
+        boolean timedOut = false;
+        Exception failure = null;
+
+        try {
+            Optional<User> sample = userRepository.findFirstByEnabledTrue();
+            sampleUser = sample.isPresent();
+            String identifier = sample.map(User::getEmail).orElse(SYNTHETIC_IDENTIFIER);
+            String userName = sample.map(User::getUsername).orElse(SYNTHETIC_IDENTIFIER);
+            UUID userId = sample.map(User::getId).orElseGet(UUID::randomUUID);
+
+            while (true) {
+                long jitBefore = jitTimeAvailable ? jit.getTotalCompilationTime() : 0;
+
+                token.add(tokenRound());
+                passwordRound(passwordHash);
+                login.add(loginRound(identifier));
+                serializationRound();
+                query.add(queryRound(identifier, userName, userId));
+                rounds++;
+
+                long jitDelta = jitTimeAvailable ? jit.getTotalCompilationTime() - jitBefore : 0;
+                settledRounds = jitDelta < properties.getSettleCompilationMillis() ? settledRounds + 1 : 0;
+
+                if (rounds >= properties.getMinRounds() && settledRounds >= properties.getSettleRounds()) {
+                    break;
+                }
+                if (System.nanoTime() > deadline) {
+                    timedOut = true;
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            // Warm-up is an optimization, never keep the pod unready because of it
+            failure = e;
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        report.put("rounds", rounds);
+        report.put("timedOut", timedOut);
+        report.put("sampleUser", sampleUser);
+        token.report(report, "tokenRoundMicros");
+        login.report(report, "loginMicros");
+        query.report(report, "queryRoundMicros");
+        if (failure != null) {
+            report.put("error", failure.getMessage());
+            log.warn("JIT warm-up aborted after {} rounds", rounds, failure);
+        } else {
+            log.info("JIT warm-up finished: {}", report);
+        }
+        healthIndicator.markDone(report);
+    }
+
+    // Sign + verify loop, returns the mean cost of one access+refresh+validate cycle
+    private long tokenRound() throws Exception {
+        String userId = UUID.randomUUID().toString();
+        Map<String, Object> claims = Map.of("roles", Set.of("ROLE_USER"));
+        long start = System.nanoTime();
+        for (int i = 0; i < properties.getTokenIterations(); i++) {
+            jwtService.createAccessToken(userId, claims);
+            AuthResponse refresh = jwtService.createRefreshToken(userId);
+            jwtService.validateRefreshToken(refresh.responseData().get("refreshToken").toString());
+        }
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / Math.max(1, properties.getTokenIterations());
+    }
+
+    private void passwordRound(String passwordHash) {
+        for (int i = 0; i < properties.getPasswordIterations(); i++) {
+            passwordEncoder.matches("warmup-password", passwordHash);
+        }
+    }
+
+    // Full login service path with a wrong password, returns the mean cost of one attempt
+    private long loginRound(String identifier) {
+        LoginRequest request = new LoginRequest(identifier, "warmup-password");
+        long start = System.nanoTime();
+        for (int i = 0; i < properties.getPasswordIterations(); i++) {
+            userService.authenticateUser(request);
+        }
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / Math.max(1, properties.getPasswordIterations());
+    }
+
+    private void serializationRound() throws Exception {
+        for (int i = 0; i < properties.getQueryIterations(); i++) {
+            objectMapper.readValue("{\"identifier\":\"" + SYNTHETIC_IDENTIFIER + "\",\"password\":\"p\"}", LoginRequest.class);
+            objectMapper.readValue("{\"userName\":\"warmup\",\"email\":\"" + SYNTHETIC_IDENTIFIER + "\",\"password\":\"p\"}", SignUpRequest.class);
+            objectMapper.writeValueAsBytes(new AuthResponse(HttpStatus.OK,
+                    Map.of("accessToken", "x", "userRoles", List.of("ROLE_USER")), "Warm-up", 0));
+        }
+    }
+
+    // Returns the mean cost of one set of lookups
+    private long queryRound(String identifier, String userName, UUID userId) {
+        long start = System.nanoTime();
+        for (int i = 0; i < properties.getQueryIterations(); i++) {
+            userRepository.findByEmailOrUsername(identifier, identifier);
+            userRepository.findById(userId).map(User::getRoles).map(Set::size);
+            userRepository.findByEmail(identifier);
+            userRepository.findByUsername(userName);
+        }
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / Math.max(1, properties.getQueryIterations());
+    }
+
+    // First and last round of one measurement, to show what warm-up bought
+    private static class Timing {
+        private long first = -1;
+        private long last = -1;
+
+        void add(long micros) {
+            if (first < 0) {
+                first = micros;
+            }
+            last = micros;
+        }
+
+        void report(Map<String, Object> report, String name) {
+            report.put(name + "First", first);
+            report.put(name + "Last", last);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.loginTemplate.authService.audit;
+
+import com.loginTemplate.authService.cli.AuditSegmentExporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogTests {
+
+	@Test
+	void dropsWhenFullAndFreesSlotsOnDrain() {
+		AuditRingBuffer ring = new AuditRingBuffer(4, false, 0);
+		for (int i = 1; i <= 5; i++) {
+			ring.publish(i, AuditRecord.meta(AuditEventType.LOGOUT, 200), 0, 0, 0);
+		}
+		assertEquals(1, ring.getDropped());
+
+		long[] target = new long[8 * AuditRecord.LONGS];
+		assertEquals(4, ring.drainTo(target, 8));
+		assertEquals(4, target[3 * AuditRecord.LONGS]);
+		assertTrue(ring.publish(6, 0, 0, 0, 0));
+	}
+
+	@Test
+	void blockingProducerGivesUpWhenNothingDrains() {
+		AuditRingBuffer ring = new AuditRingBuffer(2, true, TimeUnit.MILLISECONDS.toNanos(20));
+		assertTrue(ring.publish(1, 0, 0, 0, 0));
+		assertTrue(ring.publish(2, 0, 0, 0, 0));
+
+		// No writer thread: the third publish waits out its timeout instead of hanging
+		assertFalse(ring.publish(3, 0, 0, 0, 0));
+		assertEquals(1, ring.getDropped());
+
+		// The abandoned wait left no gap, the next event lands right behind the drained ones
+		long[] target = new long[4 * AuditRecord.LONGS];
+		assertEquals(2, ring.drainTo(target, 4));
+		assertTrue(ring.publish(4, 0, 0, 0, 0));
+		assertEquals(1, ring.drainTo(target, 4));
+		assertEquals(4, target[0]);
+	}
+
+	@Test
+	void segmentsRollAndExportAsJson(@TempDir Path dir) throws Exception {
+		UUID user = UUID.randomUUID();
+		long[] event = {1_700_000_000_000L, AuditRecord.meta(AuditEventType.LOGIN_SUCCESS, 200),
+				user.getMostSignificantBits(), user.getLeastSignificantBits(), 0};
+
+		// Room for two records per segment, so three records need two segments
+		try (AuditSegmentWriter writer = new AuditSegmentWriter(dir, AuditSegmentWriter.HEADER_BYTES + 2L * AuditRecord.BYTES, 10)) {
+			for (int i = 0; i < 3; i++) {
+				writer.append(event, 0);
+			}
+		}
+		try (var files = Files.list(dir)) {
+			assertEquals(2, files.count());
+		}
+
+		StringWriter json = new StringWriter();
+		try (BufferedWriter out = new BufferedWriter(json)) {
+			try (var files = Files.list(dir)) {
+				for (Path segment : files.sorted().toList()) {
+					AuditSegmentExporter.export(segment, out);
+				}
+			}
+		}
+		String[] lines = json.toString().split("\n");
+		assertEquals(3, lines.length);
+		assertTrue(lines[0].contains("\"type\":\"LOGIN_SUCCESS\""));
+		assertTrue(lines[0].contains(user.toString()));
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.loginTemplate.authService.datasource;
+
+import com.loginTemplate.authService.config.ReplicaProperties;
+import com.loginTemplate.authService.invalidation.InvalidationBus;
+import com.loginTemplate.authService.invalidation.InvalidationKind;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class RecentWritesTests {
+
+	private final ReplicaProperties properties = new ReplicaProperties();
+	private final InvalidationBus invalidationBus = mock(InvalidationBus.class);
+	private final RecentWrites recentWrites = new RecentWrites(properties, invalidationBus);
+
+	@Test
+	void writesAreMarkedLocallyAndPublishedToOtherNodes() {
+		properties.getReplicas().add(new ReplicaProperties.Replica());
+
+		recentWrites.record("a@b.c", "alice", null);
+
+		assertTrue(recentWrites.isRecent("a@b.c"));
+		assertTrue(recentWrites.isRecent("alice"));
+		assertFalse(recentWrites.isRecent("bob"));
+		verify(invalidationBus).publish(InvalidationKind.WRITE, "a@b.c");
+		verify(invalidationBus).publish(InvalidationKind.WRITE, "alice");
+	}
+
+	@Test
+	void writesOnAnotherNodeAreRecentHere() {
+		recentWrites.onInvalidation(InvalidationKind.WRITE, "alice");
+		recentWrites.onInvalidation(InvalidationKind.USER, "bob");
+
+		assertTrue(recentWrites.isRecent("alice"));
+		assertFalse(recentWrites.isRecent("bob"));
+	}
+
+	@Test
+	void markersExpireAfterTheWindow() throws Exception {
+		properties.setReadYourWritesSeconds(0);
+		recentWrites.onInvalidation(InvalidationKind.WRITE, "alice");
+		Thread.sleep(5);
+
+		assertFalse(recentWrites.isRecent("alice"));
+	}
+
+	@Test
+	void missedMarkersSendEveryIdentityToThePrimaryForOneWindow() {
+		recentWrites.onReset();
+
+		assertTrue(recentWrites.isRecent("anyone"));
+	}
+
+	@Test
+	void nothingIsPublishedWithoutReplicas() {
+		recentWrites.record("a@b.c");
+
+		assertFalse(recentWrites.isRecent("a@b.c"));
+		verify(invalidationBus, never()).publish(any(), any());
+	}
+}
@@ -0,0 +1,73 @@
+package com.loginTemplate.authService.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaHealthCheckerTests {
+
+	private ReplicaHealthChecker checker;
+
+	@AfterEach
+	void close() {
+		checker.close();
+	}
+
+	@Test
+	void onlyReplicasWithinLagAreHealthy() throws Exception {
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("caught-up", replica(1024L));
+		replicas.put("behind", replica(1L << 30));
+		// In recovery but nothing replayed yet, pg_last_wal_replay_lsn() is NULL
+		replicas.put("no-position", replica(null));
+		DataSource down = mock(DataSource.class);
+		when(down.getConnection()).thenThrow(new SQLException("refused"));
+		replicas.put("down", down);
+
+		checker = new ReplicaHealthChecker(primary(), replicas, 16L * 1024 * 1024, 60_000);
+		checker.check();
+
+		assertEquals(List.of("caught-up"), checker.healthyReplicas());
+	}
+
+	private static DataSource primary() throws SQLException {
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.next()).thenReturn(true);
+		when(rs.getString(1)).thenReturn("0/3000000");
+		Statement statement = mock(Statement.class);
+		when(statement.executeQuery(anyString())).thenReturn(rs);
+		Connection connection = mock(Connection.class);
+		when(connection.createStatement()).thenReturn(statement);
+		DataSource dataSource = mock(DataSource.class);
+		when(dataSource.getConnection()).thenReturn(connection);
+		return dataSource;
+	}
+
+	private static DataSource replica(Long lag) throws SQLException {
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.next()).thenReturn(true);
+		when(rs.getLong(1)).thenReturn(lag == null ? 0 : lag);
+		when(rs.wasNull()).thenReturn(lag == null);
+		PreparedStatement statement = mock(PreparedStatement.class);
+		when(statement.executeQuery()).thenReturn(rs);
+		Connection connection = mock(Connection.class);
+		when(connection.prepareStatement(anyString())).thenReturn(statement);
+		DataSource dataSource = mock(DataSource.class);
+		when(dataSource.getConnection()).thenReturn(connection);
+		return dataSource;
+	}
+}
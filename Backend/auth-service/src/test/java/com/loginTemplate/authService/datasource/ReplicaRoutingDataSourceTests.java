@@ -0,0 +1,61 @@
+package com.loginTemplate.authService.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTests {
+
+	private final ReplicaHealthChecker healthChecker = mock(ReplicaHealthChecker.class);
+	private final ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(healthChecker);
+
+	@AfterEach
+	void clearThread() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		RoutingContext.restore(false);
+	}
+
+	@Test
+	void readOnlyTransactionsRotateOverHealthyReplicas() {
+		when(healthChecker.healthyReplicas()).thenReturn(List.of("replica-0", "replica-1"));
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertEquals(List.of("replica-0", "replica-1", "replica-0"),
+				List.of(dataSource.determineCurrentLookupKey(), dataSource.determineCurrentLookupKey(),
+						dataSource.determineCurrentLookupKey()));
+	}
+
+	@Test
+	void writesForcedReadsAndMissingReplicasUseThePrimary() {
+		when(healthChecker.healthyReplicas()).thenReturn(List.of("replica-0"));
+		assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		RoutingContext.forcePrimary();
+		assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+
+		RoutingContext.restore(false);
+		when(healthChecker.healthyReplicas()).thenReturn(List.of());
+		assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+	}
+
+	@Test
+	void innerScopeKeepsTheOuterOverride() {
+		when(healthChecker.healthyReplicas()).thenReturn(List.of("replica-0"));
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		RoutingContext.forcePrimary();
+
+		// What UserService does around its own lookups
+		boolean outer = RoutingContext.isPrimaryForced();
+		RoutingContext.forcePrimary();
+		RoutingContext.restore(outer);
+
+		assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+	}
+}
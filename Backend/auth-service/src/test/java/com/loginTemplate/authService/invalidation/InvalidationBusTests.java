@@ -0,0 +1,148 @@
+package com.loginTemplate.authService.invalidation;
+
+import com.loginTemplate.authService.config.CacheProperties;
+import com.loginTemplate.authService.service.UserCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InvalidationBusTests {
+
+	private final CacheProperties properties = new CacheProperties();
+	private final UserCache cache = spy(new UserCache(properties));
+
+	@Test
+	void localPublishEvictsCachedUser() {
+		properties.getInvalidation().setEnabled(false);
+		UUID user = cached();
+
+		bus().publish(InvalidationKind.USER, user.toString());
+
+		assertNull(cache.get(user));
+	}
+
+	@Test
+	void notificationEvictsCachedUser() {
+		UUID user = cached();
+		UUID other = cached();
+
+		bus().apply("42:" + InvalidationKind.USER.code() + ":" + user);
+
+		assertNull(cache.get(user));
+		assertNotNull(cache.get(other));
+	}
+
+	@Test
+	void reconnectReplaysMissedInvalidations() throws Exception {
+		InvalidationBus bus = bus();
+		bus.catchUp(connection(5L));
+		UUID user = cached();
+
+		// Disconnected while id 6 was published, the log still reaches back to 3
+		bus.catchUp(connection(3L, row(6, user)));
+
+		assertNull(cache.get(user));
+		verify(cache, never()).onReset();
+	}
+
+	@Test
+	void reconnectResetsWhenMissedInvalidationsWerePruned() throws Exception {
+		InvalidationBus bus = bus();
+		bus.catchUp(connection(5L));
+		UUID user = cached();
+
+		bus.catchUp(connection(10L));
+
+		verify(cache).onReset();
+		assertNull(cache.get(user));
+	}
+
+	@Test
+	void reconnectReplaysLowerIdsThatCommittedLate() throws Exception {
+		InvalidationBus bus = bus();
+		bus.catchUp(connection(5L));
+		UUID early = cached();
+		UUID late = cached();
+
+		// 7 committed and was delivered, 6 was assigned first but committed while disconnected
+		bus.apply("7:" + InvalidationKind.USER.code() + ":" + early);
+		bus.catchUp(connection(3L, row(6, late), row(7, early)));
+
+		assertNull(cache.get(late));
+		// 7 is not applied a second time
+		verify(cache, times(1)).onInvalidation(InvalidationKind.USER, early.toString());
+		verify(cache, never()).onReset();
+	}
+
+	@Test
+	void reconnectResetsWhenTheLogIsEmpty() throws Exception {
+		InvalidationBus bus = bus();
+		bus.catchUp(connection(5L));
+		UUID user = cached();
+
+		bus.catchUp(connection(null));
+
+		verify(cache).onReset();
+		assertNull(cache.get(user));
+	}
+
+	private UUID cached() {
+		UUID user = UUID.randomUUID();
+		cache.put(user, Set.of("ROLE_USER"), true, cache.currentEpoch());
+		assertNotNull(cache.get(user));
+		return user;
+	}
+
+	@SuppressWarnings("unchecked")
+	private InvalidationBus bus() {
+		ObjectProvider<InvalidationListener> listeners = mock(ObjectProvider.class);
+		when(listeners.orderedStream()).thenAnswer(invocation -> Stream.of(cache));
+		return new InvalidationBus(properties, new DataSourceProperties(), mock(JdbcTemplate.class), listeners);
+	}
+
+	private static Object[] row(long id, UUID user) {
+		return new Object[]{id, String.valueOf(InvalidationKind.USER.code()), user.toString()};
+	}
+
+	// A connection whose log starts at oldestId (also MAX(id) on first connect, null when empty) and holds rows
+	private static Connection connection(Long oldestId, Object[]... rows) throws Exception {
+		ResultSet single = mock(ResultSet.class);
+		when(single.next()).thenReturn(true);
+		when(single.getLong(1)).thenReturn(oldestId == null ? 0 : oldestId);
+		when(single.wasNull()).thenReturn(oldestId == null);
+		Statement statement = mock(Statement.class);
+		when(statement.executeQuery(anyString())).thenReturn(single);
+
+		ResultSet result = mock(ResultSet.class);
+		int[] cursor = {-1};
+		when(result.next()).thenAnswer(invocation -> ++cursor[0] < rows.length);
+		when(result.getLong(1)).thenAnswer(invocation -> rows[cursor[0]][0]);
+		when(result.getString(2)).thenAnswer(invocation -> rows[cursor[0]][1]);
+		when(result.getString(3)).thenAnswer(invocation -> rows[cursor[0]][2]);
+		PreparedStatement replay = mock(PreparedStatement.class);
+		when(replay.executeQuery()).thenReturn(result);
+
+		Connection connection = mock(Connection.class);
+		when(connection.createStatement()).thenReturn(statement);
+		when(connection.prepareStatement(anyString())).thenReturn(replay);
+		return connection;
+	}
+}
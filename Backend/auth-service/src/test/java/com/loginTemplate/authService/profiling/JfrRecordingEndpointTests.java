@@ -0,0 +1,70 @@
+package com.loginTemplate.authService.profiling;
+
+import com.loginTemplate.authService.config.ProfilingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrRecordingEndpointTests {
+
+	private final JfrRecordingEndpoint endpoint = new JfrRecordingEndpoint(new ProfilingProperties());
+
+	@AfterEach
+	void cleanUp() {
+		endpoint.discard();
+	}
+
+	@Test
+	void recordsInTheBackgroundAndDeletesTheFileAfterStreaming() throws Exception {
+		assertEquals(404, endpoint.fetch().getStatus());
+		assertEquals(202, endpoint.start(1, "default").getStatus());
+		assertEquals(429, endpoint.start(1, "default").getStatus());
+		assertEquals(202, endpoint.fetch().getStatus());
+
+		WebEndpointResponse<Resource> response = awaitRecording();
+		assertEquals(200, response.getStatus());
+		Path file = response.getBody().getFile().toPath();
+		try (InputStream in = response.getBody().getInputStream()) {
+			assertTrue(in.readAllBytes().length > 0);
+		}
+		assertFalse(Files.exists(file));
+		assertEquals(404, endpoint.fetch().getStatus());
+	}
+
+	@Test
+	void unfetchedRecordingIsDeletedByTheNextOne() throws Exception {
+		endpoint.start(1, "default");
+		Path file = awaitRecording().getBody().getFile().toPath();
+		assertTrue(Files.exists(file));
+
+		// Never streamed, the client went away
+		endpoint.start(1, "default");
+		assertFalse(Files.exists(file));
+	}
+
+	@Test
+	void rejectsInvalidRequests() {
+		assertEquals(400, endpoint.start(0, null).getStatus());
+		assertEquals(400, endpoint.start(10_000, null).getStatus());
+		assertEquals(400, endpoint.start(1, "custom").getStatus());
+	}
+
+	private WebEndpointResponse<Resource> awaitRecording() throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			WebEndpointResponse<Resource> response = endpoint.fetch();
+			if (response.getStatus() != 202) {
+				return response;
+			}
+			Thread.sleep(100);
+		}
+		fail("Recording did not finish");
+		return null;
+	}
+}
@@ -0,0 +1,45 @@
+package com.loginTemplate.authService.profiling;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfiledPasswordEncoderTests {
+
+	@Test
+	void recordsOutcomeAndDurationWhileRecording(@TempDir Path dir) throws Exception {
+		ProfiledPasswordEncoder encoder = new ProfiledPasswordEncoder(new BCryptPasswordEncoder(4));
+		Path file = dir.resolve("password.jfr");
+
+		try (Recording recording = new Recording()) {
+			recording.enable(PasswordEvent.class);
+			recording.start();
+			String hash = encoder.encode("secret");
+			assertTrue(encoder.matches("secret", hash));
+			assertFalse(encoder.matches("wrong", hash));
+			recording.stop();
+			recording.dump(file);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+				.filter(event -> event.getEventType().getName().equals("com.loginTemplate.auth.Password"))
+				.toList();
+		assertEquals(List.of("encoded", "match", "mismatch"),
+				events.stream().map(event -> event.getString("outcome")).toList());
+		assertTrue(events.stream().allMatch(event -> !event.getDuration().isNegative()));
+	}
+
+	@Test
+	void delegatesWithoutRecording() {
+		ProfiledPasswordEncoder encoder = new ProfiledPasswordEncoder(new BCryptPasswordEncoder(4));
+		assertTrue(encoder.matches("secret", encoder.encode("secret")));
+	}
+}
@@ -0,0 +1,198 @@
+package com.loginTemplate.authService.revocation;
+
+import com.loginTemplate.authService.config.JWTProperties;
+import com.loginTemplate.authService.config.RevocationProperties;
+import com.loginTemplate.authService.invalidation.InvalidationBus;
+import com.loginTemplate.authService.invalidation.InvalidationKind;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RevocationStoreTests {
+
+	private static final long FUTURE = Instant.now().getEpochSecond() + 600;
+
+	private final RevocationProperties properties = new RevocationProperties();
+	private final RevocationStore store = new RevocationStore(mock(JdbcTemplate.class), mock(InvalidationBus.class),
+			new JWTProperties(), properties);
+
+	@Test
+	void resumesWithDeltasFromItsOwnCursor() throws Exception {
+		Recorder first = subscribe(null);
+		RevocationUpdate snapshot = first.next();
+		assertTrue(snapshot.snapshot());
+		String cursor = snapshot.cursor();
+		store.unsubscribe(first);
+
+		store.onInvalidation(InvalidationKind.TOKEN, "jti-1:" + FUTURE);
+		store.onInvalidation(InvalidationKind.TOKEN, "jti-2:" + FUTURE);
+
+		RevocationUpdate resumed = subscribe(cursor).next();
+		assertFalse(resumed.snapshot());
+		assertEquals(List.of("jti-1", "jti-2"), keys(resumed));
+
+		// Up to date: an empty delta, not a snapshot
+		RevocationUpdate current = subscribe(resumed.cursor()).next();
+		assertFalse(current.snapshot());
+		assertTrue(current.entries().isEmpty());
+	}
+
+	@Test
+	void foreignOrTruncatedCursorsGetASnapshot() throws Exception {
+		properties.setDeltaLogSize(2);
+		String cursor = subscribe(null).next().cursor();
+		for (int i = 0; i < 3; i++) {
+			store.onInvalidation(InvalidationKind.TOKEN, "jti-" + i + ":" + FUTURE);
+		}
+
+		// Another node or an earlier run of this one
+		assertTrue(subscribe("0123abcd-1").next().snapshot());
+		assertTrue(subscribe("garbage").next().snapshot());
+		// jti-0 has left the log
+		RevocationUpdate truncated = subscribe(cursor).next();
+		assertTrue(truncated.snapshot());
+		assertEquals(3, truncated.entries().size());
+		// Cursor ahead of this node
+		String ahead = cursor.substring(0, cursor.indexOf('-') + 1) + 99;
+		assertTrue(subscribe(ahead).next().snapshot());
+	}
+
+	@Test
+	void resetSendsSnapshotAndInvalidatesOldCursors() throws Exception {
+		Recorder subscriber = subscribe(null);
+		store.onInvalidation(InvalidationKind.TOKEN, "jti-1:" + FUTURE);
+		subscriber.next();
+		String beforeReset = subscriber.next().cursor();
+
+		store.onReset();
+
+		RevocationUpdate pushed = subscriber.next();
+		assertTrue(pushed.snapshot());
+		assertNotEquals(beforeReset, pushed.cursor());
+		// Delta log was dropped, a subscriber from before the reset cannot resume with deltas
+		assertTrue(subscribe(beforeReset).next().snapshot());
+	}
+
+	@Test
+	void slowSubscriberDoesNotHoldUpOthers() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		Recorder stuck = new Recorder(release);
+		store.subscribe(null, stuck);
+		Recorder healthy = subscribe(null);
+		healthy.next();
+
+		// Runs on the invalidation listener thread, must not wait for the stuck gateway
+		assertTimeoutPreemptively(Duration.ofSeconds(2),
+				() -> store.onInvalidation(InvalidationKind.TOKEN, "jti-1:" + FUTURE));
+
+		assertEquals(List.of("jti-1"), keys(healthy.next()));
+		release.countDown();
+		stuck.next();
+		assertEquals(List.of("jti-1"), keys(stuck.next()));
+	}
+
+	@Test
+	void subscribersThatFallBehindAreDroppedAndClosed() throws Exception {
+		properties.setSubscriberQueueSize(2);
+		CountDownLatch release = new CountDownLatch(1);
+		Recorder stuck = new Recorder(release);
+		store.subscribe(null, stuck);
+		assertTrue(stuck.sending.await(5, TimeUnit.SECONDS));
+
+		for (int i = 0; i < 4; i++) {
+			store.onInvalidation(InvalidationKind.TOKEN, "jti-" + i + ":" + FUTURE);
+		}
+		release.countDown();
+
+		assertTrue(stuck.closed.await(5, TimeUnit.SECONDS));
+		// Only the snapshot that was already being sent went out
+		assertTrue(stuck.next().snapshot());
+		assertNull(stuck.updates.poll(100, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void failedSendClosesTheSubscriber() throws Exception {
+		Recorder broken = new Recorder(null) {
+			@Override
+			public void send(RevocationUpdate update) throws IOException {
+				throw new IOException("Broken pipe");
+			}
+		};
+		store.subscribe(null, broken);
+
+		assertTrue(broken.closed.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void userCutoffIncludesItsOwnSecond() {
+		long notBefore = Instant.now().getEpochSecond();
+		store.onInvalidation(InvalidationKind.USER_TOKENS, "user-1:" + notBefore + ":" + FUTURE);
+
+		assertTrue(store.isRevoked(null, "user-1", Date.from(Instant.ofEpochSecond(notBefore))));
+		assertFalse(store.isRevoked(null, "user-1", Date.from(Instant.ofEpochSecond(notBefore + 1))));
+		assertFalse(store.isRevoked(null, "user-2", Date.from(Instant.ofEpochSecond(notBefore))));
+	}
+
+	private Recorder subscribe(String since) {
+		Recorder recorder = new Recorder(null);
+		store.subscribe(since, recorder);
+		return recorder;
+	}
+
+	private static List<String> keys(RevocationUpdate update) {
+		return update.entries().stream().map(RevocationEntry::key).toList();
+	}
+
+	private static class Recorder implements RevocationSubscriber {
+		private final BlockingQueue<RevocationUpdate> updates = new LinkedBlockingQueue<>();
+		private final CountDownLatch sending = new CountDownLatch(1);
+		private final CountDownLatch closed = new CountDownLatch(1);
+		// Sends wait for it when set, like a gateway that stopped reading
+		private final CountDownLatch release;
+
+		Recorder(CountDownLatch release) {
+			this.release = release;
+		}
+
+		@Override
+		public void send(RevocationUpdate update) throws IOException {
+			sending.countDown();
+			try {
+				if (release != null) {
+					release.await();
+				}
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+			updates.add(update);
+		}
+
+		@Override
+		public void heartbeat() {
+		}
+
+		@Override
+		public void close() {
+			closed.countDown();
+		}
+
+		// Updates arrive on the sender thread
+		RevocationUpdate next() throws InterruptedException {
+			RevocationUpdate update = updates.poll(5, TimeUnit.SECONDS);
+			assertNotNull(update, "No update received");
+			return update;
+		}
+	}
+}
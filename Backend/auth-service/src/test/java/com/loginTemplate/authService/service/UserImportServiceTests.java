@@ -0,0 +1,143 @@
+package com.loginTemplate.authService.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loginTemplate.authService.DTO.ImportSummary;
+import com.loginTemplate.authService.config.UserImportProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class UserImportServiceTests {
+
+	@Test
+	void splitsQuotedFields() {
+		assertEquals(List.of("a@b.c", "ann", "pass,word", "ROLE_USER"),
+				UserImportService.splitCsv("a@b.c,ann,\"pass,word\",ROLE_USER"));
+		assertEquals(List.of("a@b.c", "say \"hi\"", ""),
+				UserImportService.splitCsv("a@b.c,\"say \"\"hi\"\"\","));
+		assertEquals(List.of("", "", ""), UserImportService.splitCsv(",,"));
+	}
+
+	@Test
+	void rejectsMalformedQuoting() {
+		assertThrows(IllegalArgumentException.class, () -> UserImportService.splitCsv("a@b.c,\"ann,secret"));
+		assertThrows(IllegalArgumentException.class, () -> UserImportService.splitCsv("a@b.c,\"ann\"x,secret"));
+		assertThrows(IllegalArgumentException.class, () -> UserImportService.splitCsv("a@b.c,an\"n,secret"));
+	}
+
+	@Test
+	void wrongFieldCountGoesToRejectedFile(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("users.csv");
+		Files.writeString(file, """
+				email,userName,password,roles
+				one@example.com,one,secret
+				two@example.com,two,pass,word,ROLE_USER
+				three@example.com,three,"pass,word"
+				four@example.com,four
+				""");
+		RecordingJdbc jdbc = new RecordingJdbc();
+
+		ImportSummary summary = service(jdbc, 10).importFile(file);
+
+		assertEquals(4, summary.processed());
+		assertEquals(2, summary.imported());
+		assertEquals(2, summary.rejected());
+		assertEquals(List.of("one@example.com", "three@example.com"), jdbc.emails);
+		List<String> rejected = Files.readAllLines(dir.resolve("users.csv.rejected"));
+		assertEquals(2, rejected.size());
+		assertTrue(rejected.get(0).startsWith("3\t"));
+		assertTrue(rejected.get(1).startsWith("5\t"));
+		assertFalse(Files.exists(dir.resolve("users.csv.checkpoint")));
+	}
+
+	@Test
+	void resumesAfterLastCommittedBatch(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("users.csv");
+		Files.writeString(file, """
+				u1@example.com,u1,secret
+				u2@example.com,u2,secret
+				u3@example.com,u3,secret
+				u4@example.com,u4,secret
+				u5@example.com,u5,secret
+				""");
+
+		// Second batch fails, the first one stays committed and checkpointed
+		RecordingJdbc failing = new RecordingJdbc();
+		failing.failOnBatch = 2;
+		assertThrows(DataAccessResourceFailureException.class, () -> service(failing, 2).importFile(file));
+		assertEquals("2", Files.readString(dir.resolve("users.csv.checkpoint")).trim());
+
+		RecordingJdbc resumed = new RecordingJdbc();
+		ImportSummary summary = service(resumed, 2).importFile(file);
+
+		assertEquals(2, summary.resumedAfterLine());
+		assertEquals(3, summary.imported());
+		assertEquals(List.of("u3@example.com", "u4@example.com", "u5@example.com"), resumed.emails);
+		assertFalse(Files.exists(dir.resolve("users.csv.checkpoint")));
+	}
+
+	private static UserImportService service(RecordingJdbc jdbc, int batchSize) {
+		UserImportProperties properties = new UserImportProperties();
+		properties.setBatchSize(batchSize);
+		properties.setHashThreads(1);
+		return new UserImportService(jdbc.template, new DirectTransactionTemplate(),
+				new BCryptPasswordEncoder(4), new ObjectMapper(), properties);
+	}
+
+	// Inserts every user row and remembers the emails, optionally failing the n-th user batch
+	private static class RecordingJdbc {
+		final JdbcTemplate template = mock(JdbcTemplate.class);
+		final List<String> emails = new ArrayList<>();
+		int failOnBatch;
+		int batches;
+
+		RecordingJdbc() {
+			doAnswer(invocation -> {
+				if (++batches == failOnBatch) {
+					throw new DataAccessResourceFailureException("connection lost");
+				}
+				BatchPreparedStatementSetter setter = invocation.getArgument(1);
+				PreparedStatement statement = mock(PreparedStatement.class);
+				doAnswer(set -> {
+					if (set.getArgument(0, Integer.class) == 2) {
+						emails.add(set.getArgument(1));
+					}
+					return null;
+				}).when(statement).setString(anyInt(), anyString());
+				for (int i = 0; i < setter.getBatchSize(); i++) {
+					setter.setValues(statement, i);
+				}
+				int[] counts = new int[setter.getBatchSize()];
+				Arrays.fill(counts, 1);
+				return counts;
+			}).when(template).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+		}
+	}
+
+	private static class DirectTransactionTemplate extends TransactionTemplate {
+		@Override
+		public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+			return action.doInTransaction(null);
+		}
+	}
+}
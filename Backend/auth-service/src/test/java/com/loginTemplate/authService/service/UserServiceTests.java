@@ -0,0 +1,53 @@
+package com.loginTemplate.authService.service;
+
+import com.loginTemplate.authService.DTO.AuthResponse;
+import com.loginTemplate.authService.config.CacheProperties;
+import com.loginTemplate.authService.datasource.RecentWrites;
+import com.loginTemplate.authService.datasource.RoutingContext;
+import com.loginTemplate.authService.entity.User;
+import com.loginTemplate.authService.invalidation.InvalidationBus;
+import com.loginTemplate.authService.repositories.UserRepository;
+import com.loginTemplate.authService.revocation.RevocationStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserServiceTests {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final UserCache userCache = new UserCache(new CacheProperties());
+	private final UserService userService = new UserService(userRepository, mock(PasswordEncoder.class), userCache,
+			mock(InvalidationBus.class), mock(RecentWrites.class), mock(RevocationStore.class));
+
+	@Test
+	void cacheMissesAreLoadedFromThePrimary() {
+		UUID id = UUID.randomUUID();
+		User user = User.builder().id(id).email("a@b.c").username("a").password("x")
+				.roles(Set.of("ROLE_USER")).enabled(false).build();
+		List<Boolean> primaryForced = new ArrayList<>();
+		when(userRepository.findById(any())).thenAnswer(invocation -> {
+			primaryForced.add(RoutingContext.isPrimaryForced());
+			return Optional.of(user);
+		});
+
+		AuthResponse first = userService.getRoles(id.toString());
+		AuthResponse second = userService.getRoles(id.toString());
+
+		assertEquals(HttpStatus.FORBIDDEN, first.statusCode());
+		assertEquals(HttpStatus.FORBIDDEN, second.statusCode());
+		// Second call is a cache hit and never reaches the repository
+		assertEquals(List.of(true), primaryForced);
+		assertFalse(RoutingContext.isPrimaryForced());
+	}
+}
@@ -0,0 +1,57 @@
+// Load test for auth-service endpoints, run against the MVC or the reactive build:
+//   k6 run -e BASE_URL=http://auth-service:8081 -e VUS=500 k6/auth-load.js
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const VUS = parseInt(__ENV.VUS || '200');
+const DURATION = __ENV.DURATION || '2m';
+
+const HEADERS = {
+  'Content-Type': 'application/json',
+  'X-GATEWAY-SECRET': 'ASHEN-PHOENIX-INTERNAL-KEY-987654',
+};
+
+const loginLatency = new Trend('login_latency', true);
+const refreshLatency = new Trend('refresh_latency', true);
+
+export const options = {
+  scenarios: {
+    auth: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: VUS },
+        { duration: DURATION, target: VUS },
+        { duration: '10s', target: 0 },
+      ],
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+export function setup() {
+  const user = { userName: `bench_${Date.now()}`, email: `bench_${Date.now()}@example.com`, password: 'Bench-Password-1' };
+  const res = http.post(`${BASE_URL}/auth/signup`, JSON.stringify(user), { headers: HEADERS });
+  check(res, { 'signup created': (r) => r.status === 201 });
+  return user;
+}
+
+export default function (user) {
+  const login = http.post(`${BASE_URL}/auth/login`,
+    JSON.stringify({ identifier: user.email, password: user.password }), { headers: HEADERS });
+  loginLatency.add(login.timings.duration);
+  check(login, { 'login ok': (r) => r.status === 200 });
+
+  const refreshToken = login.cookies.refreshToken && login.cookies.refreshToken[0].value;
+  if (!refreshToken) {
+    return;
+  }
+  const refresh = http.post(`${BASE_URL}/auth/refresh`, null,
+    { headers: { ...HEADERS, Cookie: `refreshToken=${refreshToken}` } });
+  refreshLatency.add(refresh.timings.duration);
+  check(refresh, { 'refresh ok': (r) => r.status === 200 });
+}